@@ -0,0 +1,15 @@
+package com.biddingSystem.loadtest;
+
+import com.biddingSystem.BidAuction.authentication.SecretManagerUtil;
+import com.biddingSystem.BidAuction.authentication.UserCredential;
+
+// Every load test user shares one password and the secret never rotates
+public class FakeSecretManagerUtil extends SecretManagerUtil {
+    public static final String PASSWORD = "load-test-password";
+    private static final String SECRET_VERSION = "projects/load-test/secrets/users/versions/1";
+
+    @Override
+    public UserCredential getUserCredential(String secretName) {
+        return new UserCredential(PASSWORD, SECRET_VERSION);
+    }
+}
@@ -0,0 +1,109 @@
+package com.biddingSystem.loadtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// --key=value command line options of the harness, every option has a default so a bare run works
+// against a local Redis with the in-memory Spanner stand-in.
+public class HarnessOptions {
+    private final Map<String, String> values = new HashMap<>();
+
+    public HarnessOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    // memory or emulator
+    public String spanner() {
+        return get("spanner", "memory");
+    }
+
+    public String spannerEmulatorHost() {
+        return get("spanner-emulator-host", "localhost:9010");
+    }
+
+    public long spannerLatencyMicros() {
+        return Long.parseLong(get("spanner-latency-us", "2000"));
+    }
+
+    public String redisHost() {
+        return get("redis-host", "127.0.0.1");
+    }
+
+    public int redisPort() {
+        return Integer.parseInt(get("redis-port", "6379"));
+    }
+
+    // cold, hot, closing, invalid or mixed
+    public WorkloadType workload() {
+        return WorkloadType.valueOf(get("workload", "mixed").toUpperCase());
+    }
+
+    public int ratePerSecond() {
+        return Integer.parseInt(get("rate", "500"));
+    }
+
+    public int warmupSeconds() {
+        return Integer.parseInt(get("warmup-seconds", "10"));
+    }
+
+    public int durationSeconds() {
+        return Integer.parseInt(get("duration-seconds", "60"));
+    }
+
+    public int coldAuctions() {
+        return Integer.parseInt(get("cold-auctions", "10000"));
+    }
+
+    public int hotAuctions() {
+        return Integer.parseInt(get("hot-auctions", "5"));
+    }
+
+    public int users() {
+        return Integer.parseInt(get("users", "200"));
+    }
+
+    // Rate multiplier reached by the closing surge in the final fifth of the run
+    public double closingSurge() {
+        return Double.parseDouble(get("closing-surge", "5"));
+    }
+
+    // Minimum bid increment of every seeded auction, 0 keeps the one cent step
+    public double minIncrement() {
+        return Double.parseDouble(get("min-increment", "0"));
+    }
+
+    public long seed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+
+    // PriceLadderSimulation: CSV of recorded bids, absent means a synthetic recording is generated
+    public String recordedBids() {
+        return get("bids", null);
+    }
+
+    // PriceLadderSimulation: minimum increments to compare against the one cent step
+    public List<Double> ladderIncrements() {
+        return Arrays.stream(get("min-increments", "1,5,10,25").split(",")).map(Double::parseDouble).toList();
+    }
+
+    // PriceLadderSimulation: auctions in the synthetic recording
+    public int simulatedAuctions() {
+        return Integer.parseInt(get("auctions", "500"));
+    }
+
+    public String outputDirectory() {
+        return get("output", "target/load-test");
+    }
+
+    private String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+}
@@ -0,0 +1,117 @@
+package com.biddingSystem.loadtest;
+
+import com.biddingSystem.BidAuction.cache.AuctionStateCodec;
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.dto.AuctionSnapshot;
+import com.biddingSystem.BidAuction.dto.BidResponse;
+import com.biddingSystem.BidAuction.priceLadder.PriceLadder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Stand-in for Spanner with the same pre-checks and messages as SpannerBidDAOImpl. Each auction row is
+// locked for the simulated commit latency, so contended auctions queue the way they do on Spanner.
+public class InMemoryBidDAO extends SpannerBidDAOImpl {
+    private final ConcurrentSkipListMap<String, AuctionRow> auctions = new ConcurrentSkipListMap<>();
+    private final long commitLatencyNanos;
+
+    public InMemoryBidDAO(long commitLatencyMicros) {
+        this.commitLatencyNanos = TimeUnit.MICROSECONDS.toNanos(commitLatencyMicros);
+    }
+
+    public void addAuction(String auctionId, double basePrice, double minIncrement, long expireAtMillis) {
+        auctions.put(auctionId, new AuctionRow(basePrice, minIncrement, expireAtMillis));
+    }
+
+    public void setExpiry(String auctionId, long expireAtMillis) {
+        auctions.get(auctionId).expireAtMillis = expireAtMillis;
+    }
+
+    @Override
+    public BidResponse placeBid(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline) {
+        deadline.checkNotExpired("spanner transaction");
+        BidResponse bidResponse = new BidResponse();
+        AuctionRow auction = auctions.get(auctionId);
+        if (auction == null) {
+            return rejected(bidResponse, "Auction Completed, Bid can't be placed.");
+        }
+        synchronized (auction) {
+            LockSupport.parkNanos(commitLatencyNanos);
+            if (auction.expireAtMillis <= System.currentTimeMillis()) {
+                return rejected(bidResponse, "Auction Completed, Bid can't be placed.");
+            }
+            if (auction.basePrice > bidPrice) {
+                return rejected(bidResponse, "Bid Price should be greater then Base Price.");
+            }
+            if (auction.maxBidPrice != null && auction.maxBidPrice >= bidPrice) {
+                return rejected(bidResponse, "Already a higher bid is placed for this auction, Re-Shop and place bid again.");
+            }
+            if (auction.maxBidPrice != null) {
+                long maxBidCents = AuctionStateCodec.toCents(auction.maxBidPrice);
+                long minIncrementCents = AuctionStateCodec.toCents(auction.minIncrement);
+                if (PriceLadder.isBelowIncrement(AuctionStateCodec.toCents(bidPrice), maxBidCents, minIncrementCents)) {
+                    return rejected(bidResponse, PriceLadder.belowIncrementMessage(maxBidCents, minIncrementCents));
+                }
+            }
+            auction.maxBidPrice = bidPrice;
+            auction.leaderEmail = userEmail;
+        }
+        bidResponse.setBidPlaced(true);
+        bidResponse.setBasePrice(auction.basePrice);
+        bidResponse.setMinIncrement(auction.minIncrement);
+        bidResponse.setExpireAtInSeconds(TimeUnit.MILLISECONDS.toSeconds(auction.expireAtMillis));
+        bidResponse.setMessage("Success, Bid Placed.");
+        return bidResponse;
+    }
+
+    @Override
+    public List<AuctionSnapshot> readActiveAuctionsWithBids(String afterAuctionId, int pageSize, long stalenessSeconds) {
+        List<AuctionSnapshot> page = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, AuctionRow> entry : auctions.tailMap(afterAuctionId, false).entrySet()) {
+            AuctionRow auction = entry.getValue();
+            synchronized (auction) {
+                if (auction.maxBidPrice == null || auction.expireAtMillis <= now) {
+                    continue;
+                }
+                AuctionSnapshot snapshot = new AuctionSnapshot();
+                snapshot.setAuctionId(entry.getKey());
+                snapshot.setBasePrice(auction.basePrice);
+                snapshot.setMaxBidPrice(auction.maxBidPrice);
+                snapshot.setMinIncrement(auction.minIncrement);
+                snapshot.setExpireAtInSeconds(TimeUnit.MILLISECONDS.toSeconds(auction.expireAtMillis));
+                snapshot.setLeaderEmail(auction.leaderEmail);
+                page.add(snapshot);
+            }
+            if (page.size() == pageSize) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    private static BidResponse rejected(BidResponse bidResponse, String message) {
+        bidResponse.setBidPlaced(false);
+        bidResponse.setMessage(message);
+        return bidResponse;
+    }
+
+    private static final class AuctionRow {
+        private final double basePrice;
+        private final double minIncrement;
+        private volatile long expireAtMillis;
+        private Double maxBidPrice;
+        private String leaderEmail;
+
+        private AuctionRow(double basePrice, double minIncrement, long expireAtMillis) {
+            this.basePrice = basePrice;
+            this.minIncrement = minIncrement;
+            this.expireAtMillis = expireAtMillis;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.biddingSystem.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Prints the run summary and writes both histograms as .hgrm percentile distributions, which can be
+// plotted with the HdrHistogram plotter to compare runs.
+public class LatencyReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final HarnessOptions options;
+    private final LoadGenerator loadGenerator;
+
+    public LatencyReport(HarnessOptions options, LoadGenerator loadGenerator) {
+        this.options = options;
+        this.loadGenerator = loadGenerator;
+    }
+
+    public void write() throws IOException {
+        Path outputDirectory = Path.of(options.outputDirectory());
+        Files.createDirectories(outputDirectory);
+        writeDistribution(outputDirectory.resolve("corrected.hgrm"), loadGenerator.getCorrected());
+        writeDistribution(outputDirectory.resolve("uncorrected.hgrm"), loadGenerator.getUncorrected());
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(outputDirectory.resolve("summary.txt")), true, StandardCharsets.UTF_8)) {
+            printSummary(summary);
+        }
+        printSummary(System.out);
+    }
+
+    private void printSummary(PrintStream out) {
+        Histogram corrected = loadGenerator.getCorrected();
+        out.printf("workload=%s spanner=%s rate=%d/s duration=%ds%n", options.workload().name().toLowerCase(),
+                options.spanner(), options.ratePerSecond(), options.durationSeconds());
+        out.printf("requests=%d throughput=%.1f/s%n", corrected.getTotalCount(),
+                (double) corrected.getTotalCount() / options.durationSeconds());
+        out.printf("accepted=%d rejected=%d (lost race %d) unauthorized=%d timed out=%d failed=%d%n",
+                loadGenerator.getAccepted(), loadGenerator.getRejected(), loadGenerator.getUnexpectedRejections(),
+                loadGenerator.getUnauthorized(), loadGenerator.getTimedOut(), loadGenerator.getFailed());
+        printLatencies(out, "corrected", corrected);
+        printLatencies(out, "uncorrected", loadGenerator.getUncorrected());
+    }
+
+    private static void printLatencies(PrintStream out, String name, Histogram histogram) {
+        StringBuilder line = new StringBuilder(String.format("%-12s", name));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" p%s=%.2fms", percentile, histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        line.append(String.format(" max=%.2fms", histogram.getMaxValue() / 1000.0));
+        out.println(line);
+    }
+
+    private static void writeDistribution(Path path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path), true, StandardCharsets.UTF_8)) {
+            // Recorded in microseconds, reported in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
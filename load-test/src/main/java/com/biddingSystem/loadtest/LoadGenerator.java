@@ -0,0 +1,151 @@
+package com.biddingSystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open loop driver: requests are scheduled at fixed intended start times derived from the target rate and
+// sent asynchronously, so a slow response never delays the next request. Latency is recorded twice, from
+// the intended start (corrected for coordinated omission, what a user arriving on schedule would see) and
+// from the actual send (what a closed loop tool would report). The gap between the two shows queueing.
+public class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ExecutorService responseExecutor;
+    private final URI placeBidUri;
+    private final List<String> userTokens;
+    private final Workload workload;
+    private final int ratePerSecond;
+
+    private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unauthorized = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unexpectedRejections = new LongAdder();
+
+    public LoadGenerator(String baseUrl, List<String> userTokens, Workload workload, int ratePerSecond) {
+        this.responseExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+        this.placeBidUri = URI.create(baseUrl + "/placeBid");
+        this.userTokens = userTokens;
+        this.workload = workload;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    // Sends load for the given duration and waits for every response, only recording when asked to
+    public void run(int durationSeconds, boolean record) {
+        Phaser inFlight = new Phaser(1);
+        long startNanos = System.nanoTime();
+        long durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        double intendedNanos = 0;
+        while (intendedNanos < durationNanos) {
+            double runFraction = intendedNanos / durationNanos;
+            long intendedStart = startNanos + (long) intendedNanos;
+            intendedNanos += 1e9 / (ratePerSecond * (record ? workload.rateMultiplier(runFraction) : 1));
+
+            long waitNanos = intendedStart - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            send(workload.next(record ? runFraction : 0), intendedStart, record, inFlight);
+        }
+        inFlight.arriveAndAwaitAdvance();
+    }
+
+    private void send(Workload.BidRequest bid, long intendedStart, boolean record, Phaser inFlight) {
+        String query = "?auctionId=" + URLEncoder.encode(bid.getAuctionId(), StandardCharsets.UTF_8)
+                + "&bidPrice=" + bid.getBidPrice();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(placeBidUri + query))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + userTokens.get(bid.getUserIndex()))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        inFlight.register();
+        long sendStart = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            long end = System.nanoTime();
+            if (record) {
+                corrected.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(end - intendedStart)));
+                uncorrected.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(end - sendStart)));
+                countOutcome(bid, ex == null ? response.statusCode() : -1);
+            }
+            inFlight.arriveAndDeregister();
+        });
+    }
+
+    // status is -1 when no response arrived
+    private void countOutcome(Workload.BidRequest bid, int status) {
+        switch (status) {
+            case 200 -> accepted.increment();
+            case 400 -> {
+                rejected.increment();
+                if (bid.isExpectedValid()) {
+                    // Another in-flight bid on the same auction won the race
+                    unexpectedRejections.increment();
+                }
+            }
+            case 401 -> unauthorized.increment();
+            case 504 -> timedOut.increment();
+            default -> failed.increment();
+        }
+    }
+
+    public void close() {
+        responseExecutor.shutdownNow();
+    }
+
+    public Histogram getCorrected() {
+        return corrected;
+    }
+
+    public Histogram getUncorrected() {
+        return uncorrected;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getUnauthorized() {
+        return unauthorized.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getUnexpectedRejections() {
+        return unexpectedRejections.sum();
+    }
+}
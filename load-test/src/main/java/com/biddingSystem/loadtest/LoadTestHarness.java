@@ -0,0 +1,150 @@
+package com.biddingSystem.loadtest;
+
+import com.biddingSystem.BidAuction.BidAuctionApplication;
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Mutation;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Starts the service in process against a local Redis and either the in-memory Spanner stand-in or the
+// Spanner emulator, seeds auctions and users, then drives the placeBid endpoint over HTTP.
+//
+//   mvn install -DskipTests                                  (repository root)
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.args="--workload=mixed --rate=1000"
+//
+// Redis must be reachable at --redis-host/--redis-port; its auction keys are overwritten by the seed.
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        HarnessOptions options = new HarnessOptions(args);
+        Workload workload = new Workload(options);
+        List<String> userEmails = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            userEmails.add("loadtest" + i + "@example.com");
+        }
+
+        boolean emulator = "emulator".equals(options.spanner());
+        if (emulator) {
+            try (SpannerEmulatorBootstrap bootstrap = new SpannerEmulatorBootstrap(options.spannerEmulatorHost())) {
+                bootstrap.createDatabase();
+                bootstrap.seed(workload.auctions(), userEmails);
+            }
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BidAuctionApplication.class, StandInConfiguration.class)
+                .run(serviceArguments(options))) {
+            if (!emulator) {
+                InMemoryBidDAO inMemoryBidDAO = (InMemoryBidDAO) context.getBean(SpannerBidDAOImpl.class);
+                for (Workload.SeedAuction auction : workload.auctions()) {
+                    inMemoryBidDAO.addAuction(auction.getAuctionId(), auction.getBasePrice(), auction.getMinIncrement(),
+                            auction.getExpireAtMillis());
+                }
+            }
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            List<String> tokens = login(baseUrl, userEmails);
+
+            // Stamped only now so startup and login do not eat into the time before the closing surge
+            long closingAtMillis = System.currentTimeMillis()
+                    + (options.warmupSeconds() + options.durationSeconds()) * 1000L + 1000L;
+            closeAuctionsAt(context, emulator, workload.closingAuctions(), closingAtMillis);
+            clearCachedAuctions(options, workload.auctions());
+
+            LoadGenerator loadGenerator = new LoadGenerator(baseUrl, tokens, workload, options.ratePerSecond());
+            try {
+                System.out.printf("Warming up for %ds%n", options.warmupSeconds());
+                loadGenerator.run(options.warmupSeconds(), false);
+                System.out.printf("Measuring for %ds%n", options.durationSeconds());
+                loadGenerator.run(options.durationSeconds(), true);
+                new LatencyReport(options, loadGenerator).write();
+            } finally {
+                loadGenerator.close();
+            }
+        }
+    }
+
+    // Passed as command line arguments, which take precedence over the service's application.properties
+    private static String[] serviceArguments(HarnessOptions options) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.allow-bean-definition-overriding", true);
+        properties.put("redis.write.host", options.redisHost());
+        properties.put("redis.read.host", options.redisHost());
+        properties.put("redis.port", options.redisPort());
+        properties.put("loadtest.spanner", options.spanner());
+        properties.put("loadtest.spanner.latency.us", options.spannerLatencyMicros());
+        // Keep the request log out of the measurement
+        properties.put("bid.log.success.sample.rate", 0);
+        if ("emulator".equals(options.spanner())) {
+            properties.put("spanner.emulator.host", options.spannerEmulatorHost());
+            properties.put("projectId", SpannerEmulatorBootstrap.PROJECT_ID);
+            properties.put("spanner.instanceId", SpannerEmulatorBootstrap.INSTANCE_ID);
+            properties.put("spanner.databaseId", SpannerEmulatorBootstrap.DATABASE_ID);
+        } else {
+            // The in-memory stand-in keeps no bid event outbox
+            properties.put("bid.outbox.relay.enabled", false);
+        }
+        return properties.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new);
+    }
+
+    private static void closeAuctionsAt(ConfigurableApplicationContext context, boolean emulator,
+                                        List<Workload.SeedAuction> auctions, long closingAtMillis) {
+        if (!emulator) {
+            InMemoryBidDAO inMemoryBidDAO = (InMemoryBidDAO) context.getBean(SpannerBidDAOImpl.class);
+            for (Workload.SeedAuction auction : auctions) {
+                inMemoryBidDAO.setExpiry(auction.getAuctionId(), closingAtMillis);
+            }
+            return;
+        }
+        List<Mutation> mutations = new ArrayList<>();
+        for (Workload.SeedAuction auction : auctions) {
+            mutations.add(Mutation.newUpdateBuilder("AUCTION")
+                    .set("AUCTION_ID").to(auction.getAuctionId())
+                    .set("AUCTION_EXPIRY_TIME").to(Timestamp.ofTimeMicroseconds(closingAtMillis * 1000))
+                    .build());
+        }
+        context.getBean(DatabaseClient.class).write(mutations);
+    }
+
+    // Entries left by an earlier run would reject the first bids of this one at the cache gate
+    private static void clearCachedAuctions(HarnessOptions options, List<Workload.SeedAuction> auctions) {
+        try (Jedis jedis = new Jedis(options.redisHost(), options.redisPort())) {
+            String[] keys = auctions.stream().map(Workload.SeedAuction::getAuctionId).toArray(String[]::new);
+            for (int i = 0; i < keys.length; i += 1000) {
+                String[] batch = new String[Math.min(1000, keys.length - i)];
+                System.arraycopy(keys, i, batch, 0, batch.length);
+                jedis.del(batch);
+            }
+        }
+    }
+
+    private static List<String> login(String baseUrl, List<String> userEmails) throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        List<String> tokens = new ArrayList<>(userEmails.size());
+        for (String userEmail : userEmails) {
+            URI uri = URI.create(baseUrl + "/login?username=" + URLEncoder.encode(userEmail, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(FakeSecretManagerUtil.PASSWORD, StandardCharsets.UTF_8));
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + userEmail + " failed with " + response.statusCode() + ": " + response.body());
+            }
+            tokens.add(response.body());
+        }
+        return tokens;
+    }
+}
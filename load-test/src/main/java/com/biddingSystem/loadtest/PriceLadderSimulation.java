@@ -0,0 +1,155 @@
+package com.biddingSystem.loadtest;
+
+import com.biddingSystem.BidAuction.cache.AuctionStateCodec;
+import com.biddingSystem.BidAuction.priceLadder.PriceLadder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Replays recorded bids under the one cent step and under each minimum increment, and reports how many
+// bids commit a Spanner transaction. Rejected bids never reach Spanner as the cache gate turns them away.
+//
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.mainClass=com.biddingSystem.loadtest.PriceLadderSimulation \
+//       -Dexec.args="--bids=recorded-bids.csv --min-increments=1,5,10"
+//
+// The CSV has a header and the columns auction_id,bid_time_ms,user,bid_price. Bidder reaction to the ladder
+// is modelled: a bid that committed in the recording but falls short of the ladder is raised to the minimum
+// next bid when the bidder bid at least that much on the auction at some point, otherwise the bidder drops
+// out. Without --bids a seeded synthetic recording of bidding wars won by small margins is replayed.
+public class PriceLadderSimulation {
+    private static final double BASE_PRICE = 1000.0;
+
+    public static void main(String[] args) throws IOException {
+        HarnessOptions options = new HarnessOptions(args);
+        Map<String, List<RecordedBid>> auctions = options.recordedBids() == null
+                ? synthesize(options.simulatedAuctions(), new Random(options.seed()))
+                : read(Path.of(options.recordedBids()));
+        int bids = auctions.values().stream().mapToInt(List::size).sum();
+        System.out.printf("%s: %d auctions, %d bids%n", options.recordedBids() == null ? "synthetic recording" : options.recordedBids(),
+                auctions.size(), bids);
+
+        Result baseline = replay(auctions, 0);
+        System.out.printf("%-14s %10s %12s %10s %16s%n", "min increment", "commits", "per auction", "reduction", "avg final price");
+        print("one cent", baseline, baseline, auctions.size());
+        for (double minIncrement : options.ladderIncrements()) {
+            print(String.format("%.2f", minIncrement), replay(auctions, AuctionStateCodec.toCents(minIncrement)), baseline, auctions.size());
+        }
+    }
+
+    private static Result replay(Map<String, List<RecordedBid>> auctions, long minIncrementCents) {
+        Result result = new Result();
+        for (List<RecordedBid> recordedBids : auctions.values()) {
+            long baseCents = AuctionStateCodec.toCents(BASE_PRICE);
+            Map<String, Long> ceilings = new HashMap<>();
+            for (RecordedBid bid : recordedBids) {
+                ceilings.merge(bid.user, bid.priceCents, Math::max);
+            }
+
+            Long recordedMax = null;
+            Long maxCents = null;
+            for (RecordedBid bid : recordedBids) {
+                // Whether the bid committed as recorded, under the one cent step
+                boolean committedAsRecorded = bid.priceCents >= baseCents && (recordedMax == null || bid.priceCents > recordedMax);
+                if (committedAsRecorded) {
+                    recordedMax = bid.priceCents;
+                }
+                if (!committedAsRecorded) {
+                    continue;
+                }
+                if (maxCents == null || !PriceLadder.isBelowIncrement(bid.priceCents, maxCents, minIncrementCents)) {
+                    maxCents = bid.priceCents;
+                    result.commits++;
+                    continue;
+                }
+                long minimumNextBid = PriceLadder.minimumNextBidCents(maxCents, minIncrementCents);
+                if (ceilings.get(bid.user) >= minimumNextBid) {
+                    maxCents = minimumNextBid;
+                    result.commits++;
+                }
+            }
+            if (maxCents != null) {
+                result.finalPriceCents += maxCents;
+                result.soldAuctions++;
+            }
+        }
+        return result;
+    }
+
+    private static void print(String label, Result result, Result baseline, int auctions) {
+        System.out.printf("%-14s %10d %12.2f %9.1f%% %16.2f%n", label, result.commits, (double) result.commits / auctions,
+                100.0 * (baseline.commits - result.commits) / Math.max(1, baseline.commits),
+                result.soldAuctions == 0 ? 0 : result.finalPriceCents / 100.0 / result.soldAuctions);
+    }
+
+    private static Map<String, List<RecordedBid>> read(Path path) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            if (line.isBlank() || line.startsWith("auction_id")) {
+                continue;
+            }
+            rows.add(line.split(","));
+        }
+        rows.sort((a, b) -> Long.compare(Long.parseLong(a[1].trim()), Long.parseLong(b[1].trim())));
+        Map<String, List<RecordedBid>> auctions = new LinkedHashMap<>();
+        for (String[] row : rows) {
+            auctions.computeIfAbsent(row[0].trim(), auctionId -> new ArrayList<>())
+                    .add(new RecordedBid(row[2].trim(), AuctionStateCodec.toCents(Double.parseDouble(row[3].trim()))));
+        }
+        return auctions;
+    }
+
+    // Bidders with private valuations keep outbidding the leader by one to five until no one values the
+    // item above the current price
+    private static Map<String, List<RecordedBid>> synthesize(int auctionCount, Random random) {
+        Map<String, List<RecordedBid>> auctions = new LinkedHashMap<>();
+        for (int auction = 0; auction < auctionCount; auction++) {
+            int bidders = 5 + random.nextInt(26);
+            double[] valuations = new double[bidders];
+            for (int bidder = 0; bidder < bidders; bidder++) {
+                valuations[bidder] = BASE_PRICE * (1 + random.nextDouble() * 1.5);
+            }
+            List<RecordedBid> recordedBids = new ArrayList<>();
+            double price = BASE_PRICE - 1;
+            int leader = -1;
+            while (true) {
+                List<Integer> challengers = new ArrayList<>();
+                for (int bidder = 0; bidder < bidders; bidder++) {
+                    if (bidder != leader && valuations[bidder] > price + 1) {
+                        challengers.add(bidder);
+                    }
+                }
+                if (challengers.isEmpty()) {
+                    break;
+                }
+                leader = challengers.get(random.nextInt(challengers.size()));
+                price = Math.min(valuations[leader], price + 1 + random.nextInt(5));
+                recordedBids.add(new RecordedBid("bidder-" + leader, AuctionStateCodec.toCents(price)));
+            }
+            auctions.put("auction-" + auction, recordedBids);
+        }
+        return auctions;
+    }
+
+    private static final class RecordedBid {
+        private final String user;
+        private final long priceCents;
+
+        private RecordedBid(String user, long priceCents) {
+            this.user = user;
+            this.priceCents = priceCents;
+        }
+    }
+
+    private static final class Result {
+        private long commits;
+        private long finalPriceCents;
+        private int soldAuctions;
+    }
+}
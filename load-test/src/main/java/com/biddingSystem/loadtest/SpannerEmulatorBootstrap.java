@@ -0,0 +1,127 @@
+package com.biddingSystem.loadtest;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.DatabaseAdminClient;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.DatabaseId;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.InstanceConfigId;
+import com.google.cloud.spanner.InstanceId;
+import com.google.cloud.spanner.InstanceInfo;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Spanner;
+import com.google.cloud.spanner.SpannerException;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.SpannerOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Creates a fresh database with the service schema on a running Spanner emulator and seeds it.
+public class SpannerEmulatorBootstrap implements AutoCloseable {
+    public static final String PROJECT_ID = "load-test-project";
+    public static final String INSTANCE_ID = "load-test";
+    public static final String DATABASE_ID = "bidding_system";
+    private static final int MUTATIONS_PER_COMMIT = 1000;
+
+    private final Spanner spanner;
+
+    public SpannerEmulatorBootstrap(String emulatorHost) {
+        this.spanner = SpannerOptions.newBuilder()
+                .setProjectId(PROJECT_ID)
+                .setEmulatorHost(emulatorHost)
+                .setCredentials(NoCredentials.getInstance())
+                .build()
+                .getService();
+    }
+
+    public void createDatabase() throws IOException {
+        InstanceInfo instance = InstanceInfo.newBuilder(InstanceId.of(PROJECT_ID, INSTANCE_ID))
+                .setInstanceConfigId(InstanceConfigId.of(PROJECT_ID, "emulator-config"))
+                .setDisplayName("Load test")
+                .setNodeCount(1)
+                .build();
+        await(() -> spanner.getInstanceAdminClient().createInstance(instance).get());
+
+        DatabaseAdminClient databaseAdmin = spanner.getDatabaseAdminClient();
+        try {
+            databaseAdmin.dropDatabase(INSTANCE_ID, DATABASE_ID);
+        } catch (SpannerException ex) {
+            if (ex.getErrorCode() != ErrorCode.NOT_FOUND) {
+                throw ex;
+            }
+        }
+        List<String> ddl = readSchema();
+        await(() -> databaseAdmin.createDatabase(INSTANCE_ID, DATABASE_ID, ddl).get());
+    }
+
+    public void seed(List<Workload.SeedAuction> auctions, List<String> userEmails) {
+        DatabaseClient databaseClient = spanner.getDatabaseClient(DatabaseId.of(PROJECT_ID, INSTANCE_ID, DATABASE_ID));
+        List<Mutation> mutations = new ArrayList<>();
+        for (int i = 0; i < userEmails.size(); i++) {
+            mutations.add(Mutation.newInsertBuilder("C_USER")
+                    .set("C_USER_ID").to("user-" + i)
+                    .set("EMAIL").to(userEmails.get(i))
+                    .build());
+            flushIfFull(databaseClient, mutations);
+        }
+        for (Workload.SeedAuction auction : auctions) {
+            mutations.add(Mutation.newInsertBuilder("AUCTION")
+                    .set("AUCTION_ID").to(auction.getAuctionId())
+                    .set("CATEGORY").to("LoadTest")
+                    .set("BASE_PRICE").to(auction.getBasePrice())
+                    .set("MIN_INCREMENT").to(auction.getMinIncrement())
+                    .set("AUCTION_CREATION_TIME").to(Timestamp.now())
+                    .set("AUCTION_EXPIRY_TIME").to(Timestamp.ofTimeMicroseconds(auction.getExpireAtMillis() * 1000))
+                    .build());
+            flushIfFull(databaseClient, mutations);
+        }
+        if (!mutations.isEmpty()) {
+            databaseClient.write(mutations);
+        }
+    }
+
+    @Override
+    public void close() {
+        spanner.close();
+    }
+
+    private static void flushIfFull(DatabaseClient databaseClient, List<Mutation> mutations) {
+        if (mutations.size() >= MUTATIONS_PER_COMMIT) {
+            databaseClient.write(mutations);
+            mutations.clear();
+        }
+    }
+
+    private static List<String> readSchema() throws IOException {
+        try (InputStream schema = SpannerEmulatorBootstrap.class.getResourceAsStream("/schema.sql")) {
+            String sql = new String(schema.readAllBytes(), StandardCharsets.UTF_8).replaceAll("(?m)^--.*$", "");
+            return Arrays.stream(sql.split(";")).map(String::trim).filter(statement -> !statement.isEmpty()).toList();
+        }
+    }
+
+    // Admin operations are long running futures, an already existing instance is fine
+    private static void await(AdminOperation operation) {
+        try {
+            operation.run();
+        } catch (ExecutionException ex) {
+            SpannerException cause = SpannerExceptionFactory.asSpannerException(ex.getCause());
+            if (cause.getErrorCode() != ErrorCode.ALREADY_EXISTS) {
+                throw cause;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw SpannerExceptionFactory.propagateInterrupt(ex);
+        }
+    }
+
+    private interface AdminOperation {
+        void run() throws ExecutionException, InterruptedException;
+    }
+}
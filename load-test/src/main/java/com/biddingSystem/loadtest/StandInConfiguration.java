@@ -0,0 +1,56 @@
+package com.biddingSystem.loadtest;
+
+import com.biddingSystem.BidAuction.authentication.SecretManagerUtil;
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.cloud.secretmanager.v1.SecretManagerServiceClient;
+import com.google.cloud.secretmanager.v1.SecretManagerServiceSettings;
+import com.google.cloud.spanner.DatabaseClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
+// Replaces the GCP backed beans of the service. Lives outside the service's component scan and is only
+// added as a source by LoadTestHarness; the bean names match the ones it overrides.
+@Configuration
+public class StandInConfiguration {
+
+    @Value("${loadtest.spanner.latency.us}")
+    private long spannerLatencyMicros;
+
+    // Never called once SecretManagerUtil is replaced, only has to be constructible without credentials
+    @Bean("getSecretManagerClient")
+    public SecretManagerServiceClient getSecretManagerClient() throws IOException {
+        return SecretManagerServiceClient.create(SecretManagerServiceSettings.newBuilder()
+                .setCredentialsProvider(NoCredentialsProvider.create())
+                .build());
+    }
+
+    @Bean("secretManagerUtil")
+    public SecretManagerUtil secretManagerUtil() {
+        return new FakeSecretManagerUtil();
+    }
+
+    @Bean("databaseClient")
+    @ConditionalOnProperty(name = "loadtest.spanner", havingValue = "memory")
+    public DatabaseClient databaseClient() {
+        return (DatabaseClient) Proxy.newProxyInstance(DatabaseClient.class.getClassLoader(), new Class<?>[]{DatabaseClient.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? proxy == args[0]
+                                : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : "InMemoryDatabaseClient";
+                    }
+                    throw new UnsupportedOperationException("Spanner is replaced by the in-memory stand-in");
+                });
+    }
+
+    @Bean("spannerBidDAOImpl")
+    @ConditionalOnProperty(name = "loadtest.spanner", havingValue = "memory")
+    public SpannerBidDAOImpl spannerBidDAOImpl() {
+        return new InMemoryBidDAO(spannerLatencyMicros);
+    }
+}
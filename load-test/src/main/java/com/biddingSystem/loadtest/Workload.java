@@ -0,0 +1,161 @@
+package com.biddingSystem.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Generates the auctions to seed and the sequence of bids to send. Only called from the driver thread,
+// so per auction price tracking needs no synchronisation. All randomness comes from the seed so runs
+// with the same options send the same bids.
+public class Workload {
+    private static final double BASE_PRICE = 1000.0;
+    private static final double SURGE_START = 0.8;
+
+    private final WorkloadType type;
+    private final HarnessOptions options;
+    private final Random random;
+    private final List<SeedAuction> coldAuctions = new ArrayList<>();
+    private final List<SeedAuction> hotAuctions = new ArrayList<>();
+    private final List<SeedAuction> closingAuctions = new ArrayList<>();
+    private final Map<String, Double> offeredPrices = new HashMap<>();
+
+    // Closing auctions are seeded with the same far expiry as the others, the harness moves it to the end of
+    // the measured run once startup and login are done.
+    public Workload(HarnessOptions options) {
+        this.type = options.workload();
+        this.options = options;
+        this.random = new Random(options.seed());
+        long farFutureMillis = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+        for (int i = 0; i < options.coldAuctions(); i++) {
+            coldAuctions.add(new SeedAuction("cold-" + i, BASE_PRICE, options.minIncrement(), farFutureMillis));
+        }
+        for (int i = 0; i < options.hotAuctions(); i++) {
+            hotAuctions.add(new SeedAuction("hot-" + i, BASE_PRICE, options.minIncrement(), farFutureMillis));
+        }
+        for (int i = 0; i < Math.max(1, options.hotAuctions()); i++) {
+            closingAuctions.add(new SeedAuction("closing-" + i, BASE_PRICE, options.minIncrement(), farFutureMillis));
+        }
+    }
+
+    public List<SeedAuction> auctions() {
+        List<SeedAuction> auctions = new ArrayList<>(coldAuctions);
+        auctions.addAll(hotAuctions);
+        auctions.addAll(closingAuctions);
+        return auctions;
+    }
+
+    public List<SeedAuction> closingAuctions() {
+        return closingAuctions;
+    }
+
+    // runFraction is the position inside the measured run, 0 at its start and 1 at its end
+    public double rateMultiplier(double runFraction) {
+        if ((type == WorkloadType.CLOSING || type == WorkloadType.MIXED) && runFraction >= SURGE_START) {
+            return 1 + (options.closingSurge() - 1) * (runFraction - SURGE_START) / (1 - SURGE_START);
+        }
+        return 1;
+    }
+
+    public BidRequest next(double runFraction) {
+        return switch (type) {
+            case COLD -> validBid(coldAuctions, 50);
+            case HOT -> validBid(hotAuctions, 5);
+            case CLOSING -> validBid(closingAuctions, 5);
+            case INVALID -> invalidBid();
+            case MIXED -> mixedBid(runFraction);
+        };
+    }
+
+    private BidRequest mixedBid(double runFraction) {
+        double pick = random.nextDouble();
+        double closingShare = runFraction >= SURGE_START ? 0.5 : 0.1;
+        if (pick < closingShare) {
+            return validBid(closingAuctions, 5);
+        } else if (pick < closingShare + 0.15) {
+            return validBid(hotAuctions, 5);
+        } else if (pick < closingShare + 0.20) {
+            return invalidBid();
+        }
+        return validBid(coldAuctions, 50);
+    }
+
+    // Outbids the last price this harness offered, concurrent in-flight bids on the same auction still race
+    private BidRequest validBid(List<SeedAuction> auctions, int maxIncrement) {
+        SeedAuction auction = auctions.get(random.nextInt(auctions.size()));
+        double price = offeredPrices.getOrDefault(auction.getAuctionId(), auction.getBasePrice())
+                + Math.max(1, auction.getMinIncrement()) + random.nextInt(maxIncrement);
+        offeredPrices.put(auction.getAuctionId(), price);
+        return new BidRequest(auction.getAuctionId(), price, random.nextInt(options.users()), true);
+    }
+
+    private BidRequest invalidBid() {
+        List<SeedAuction> auctions = hotAuctions.isEmpty() ? coldAuctions : hotAuctions;
+        SeedAuction auction = auctions.get(random.nextInt(auctions.size()));
+        double price = random.nextBoolean()
+                ? auction.getBasePrice() - 1 - random.nextInt(100)
+                : Math.max(auction.getBasePrice(), offeredPrices.getOrDefault(auction.getAuctionId(), auction.getBasePrice()) - random.nextInt(10));
+        return new BidRequest(auction.getAuctionId(), price, random.nextInt(options.users()), false);
+    }
+
+    public static class SeedAuction {
+        private final String auctionId;
+        private final double basePrice;
+        private final double minIncrement;
+        private final long expireAtMillis;
+
+        public SeedAuction(String auctionId, double basePrice, double minIncrement, long expireAtMillis) {
+            this.auctionId = auctionId;
+            this.basePrice = basePrice;
+            this.minIncrement = minIncrement;
+            this.expireAtMillis = expireAtMillis;
+        }
+
+        public String getAuctionId() {
+            return auctionId;
+        }
+
+        public double getBasePrice() {
+            return basePrice;
+        }
+
+        public double getMinIncrement() {
+            return minIncrement;
+        }
+
+        public long getExpireAtMillis() {
+            return expireAtMillis;
+        }
+    }
+
+    public static class BidRequest {
+        private final String auctionId;
+        private final double bidPrice;
+        private final int userIndex;
+        private final boolean expectedValid;
+
+        public BidRequest(String auctionId, double bidPrice, int userIndex, boolean expectedValid) {
+            this.auctionId = auctionId;
+            this.bidPrice = bidPrice;
+            this.userIndex = userIndex;
+            this.expectedValid = expectedValid;
+        }
+
+        public String getAuctionId() {
+            return auctionId;
+        }
+
+        public double getBidPrice() {
+            return bidPrice;
+        }
+
+        public int getUserIndex() {
+            return userIndex;
+        }
+
+        public boolean isExpectedValid() {
+            return expectedValid;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.biddingSystem.loadtest;
+
+public enum WorkloadType {
+    // Bids spread over many auctions with little contention
+    COLD,
+    // Every bid lands on a handful of auctions
+    HOT,
+    // Auctions closing at the end of the run, with the bid rate surging towards the close
+    CLOSING,
+    // Bids below the base or the current price that the cache gate should reject
+    INVALID,
+    // Weighted blend of all of the above
+    MIXED
+}
@@ -0,0 +1,47 @@
+-- Schema of the tables the service touches, applied to a fresh emulator database on every run
+CREATE TABLE C_USER (
+    C_USER_ID STRING(64) NOT NULL,
+    EMAIL STRING(256) NOT NULL
+) PRIMARY KEY (C_USER_ID);
+
+CREATE UNIQUE INDEX C_USER_BY_EMAIL ON C_USER (EMAIL);
+
+CREATE TABLE AUCTION (
+    AUCTION_ID STRING(64) NOT NULL,
+    CATEGORY STRING(64),
+    BASE_PRICE FLOAT64 NOT NULL,
+    MAX_BID_PRICE FLOAT64,
+    MIN_INCREMENT FLOAT64,
+    C_USER_ID STRING(64),
+    AUCTION_CREATION_TIME TIMESTAMP,
+    AUCTION_EXPIRY_TIME TIMESTAMP NOT NULL
+) PRIMARY KEY (AUCTION_ID);
+
+CREATE TABLE BID (
+    BID_ID STRING(36) NOT NULL DEFAULT (GENERATE_UUID()),
+    AUCTION_ID STRING(64) NOT NULL,
+    C_USER_ID STRING(64) NOT NULL,
+    MAX_BID_PRICE FLOAT64,
+    BID_TIME TIMESTAMP
+) PRIMARY KEY (BID_ID);
+
+CREATE INDEX BID_BY_AUCTION_USER ON BID (AUCTION_ID, C_USER_ID);
+
+CREATE TABLE BID_EVENT (
+    SHARD_ID INT64 NOT NULL,
+    COMMIT_TIME TIMESTAMP NOT NULL OPTIONS (allow_commit_timestamp = true),
+    EVENT_ID STRING(36) NOT NULL,
+    AUCTION_ID STRING(64) NOT NULL,
+    USER_EMAIL STRING(256) NOT NULL,
+    BID_PRICE FLOAT64 NOT NULL,
+    PREV_MAX_BID_PRICE FLOAT64
+) PRIMARY KEY (SHARD_ID, COMMIT_TIME, EVENT_ID);
+
+CREATE TABLE OUTBOX_CHECKPOINT (
+    SINK STRING(256) NOT NULL,
+    SHARD_ID INT64 NOT NULL,
+    COMMIT_TIME TIMESTAMP NOT NULL,
+    EVENT_ID STRING(36) NOT NULL,
+    OWNER STRING(64),
+    LEASE_EXPIRY_TIME TIMESTAMP
+) PRIMARY KEY (SINK, SHARD_ID);
@@ -1,40 +1,67 @@
 package com.biddingSystem.BidAuction.authentication;
 
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class AuthenticationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticationService.class);
+    // Secret Manager notification event types that change which password is valid
+    private static final Set<String> CREDENTIAL_CHANGE_EVENTS = Set.of("SECRET_VERSION_ADD", "SECRET_VERSION_ENABLE",
+            "SECRET_VERSION_DISABLE", "SECRET_VERSION_DESTROY", "SECRET_DELETE");
 
     private JwtTokenUtil jwtTokenUtil;
 
     private SecretManagerUtil secretManagerUtil;
 
+    private TokenRevocationFilter tokenRevocationFilter;
+
     public String login(String userName, String password) throws Exception {
-        authenticate(userName, password);
-        String payload = userName+"@"+password;
-        return jwtTokenUtil.generateToken(payload);
+        UserCredential credential = authenticate(userName, password);
+        long tokenVersion = tokenRevocationFilter.tokenVersionForLogin(userName, credential.getSecretVersion());
+        return jwtTokenUtil.generateToken(userName, tokenVersion);
     }
 
     public String getUserNameFromValidToken(String tokenHeader) {
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         if (tokenHeader != null && tokenHeader.startsWith("Bearer ")) {
             String jwtToken = tokenHeader.substring(7);
-            String[] userInfo = jwtTokenUtil.getPayloadFromToken(jwtToken).split("@");
-            if (jwtTokenUtil.validateToken(jwtToken, userInfo)) {
-                return userInfo[0];
-            } else {
+            // Signature, expiry and version are all checked in memory, no remote call per request
+            Claims claims = jwtTokenUtil.getValidClaims(jwtToken);
+            if (claims == null || !(claims.get(JwtTokenUtil.TOKEN_VERSION) instanceof Number tokenVersion)) {
                 return null;
             }
+            if (tokenRevocationFilter.isRevoked(claims.getSubject(), tokenVersion.longValue())) {
+                return null;
+            }
+            return claims.getSubject();
         }
         return null;
     }
 
-    private void authenticate(String userName, String password) throws Exception {
-        String storedPassword = secretManagerUtil.getUserPassword(userName);
-        if (!password.equals(storedPassword)) {
+    // secretId is the resource name projects/{project}/secrets/{userName}, the secret is named after the user.
+    // Returns whether tokens were revoked.
+    public boolean revokeOnSecretChange(String eventType, String secretId) {
+        if (!CREDENTIAL_CHANGE_EVENTS.contains(eventType) || secretId == null) {
+            return false;
+        }
+        String userName = secretId.substring(secretId.lastIndexOf('/') + 1);
+        long tokenVersion = tokenRevocationFilter.revokeAllTokens(userName);
+        LOGGER.info("Secret of user {} changed ({}), revoked tokens below version {}", userName, eventType, tokenVersion);
+        return true;
+    }
+
+    private UserCredential authenticate(String userName, String password) throws Exception {
+        UserCredential credential = secretManagerUtil.getUserCredential(userName);
+        if (!password.equals(credential.getPassword())) {
             throw new Exception("INVALID_CREDENTIALS");
         }
+        return credential;
     }
 
     @Autowired
@@ -46,4 +73,9 @@ public class AuthenticationService {
     public void setSecretManagerUtil(SecretManagerUtil secretManagerUtil) {
         this.secretManagerUtil = secretManagerUtil;
     }
+
+    @Autowired
+    public void setTokenRevocationFilter(TokenRevocationFilter tokenRevocationFilter) {
+        this.tokenRevocationFilter = tokenRevocationFilter;
+    }
 }
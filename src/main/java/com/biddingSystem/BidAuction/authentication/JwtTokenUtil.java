@@ -1,9 +1,9 @@
 package com.biddingSystem.BidAuction.authentication;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,8 +16,7 @@ import java.util.function.Function;
 public class JwtTokenUtil {
 
     public static final long JWT_TOKEN_VALIDITY = 30 * 60;
-
-    private SecretManagerUtil secretManagerUtil;
+    public static final String TOKEN_VERSION = "ver";
 
     @Value("${jwt.secret}")
     private String secret;
@@ -41,16 +40,11 @@ public class JwtTokenUtil {
         return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
     }
 
-    //check if the token has expired
-    private boolean isTokenExpired(String token) {
-        Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    //generate token for user
-    public String generateToken(String payload) {
+    //generate token for user, the version lets every token issued before a revocation be rejected
+    public String generateToken(String userName, long tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
-        return doGenerateToken(claims, payload);
+        claims.put(TOKEN_VERSION, tokenVersion);
+        return doGenerateToken(claims, userName);
     }
 
     //while creating the token -
@@ -68,14 +62,16 @@ public class JwtTokenUtil {
                 .signWith(SignatureAlgorithm.HS512, secret).compact();
     }
 
-    //validate token
-    public boolean validateToken(String token, String[] userInfo) {
-        String storedPassword = secretManagerUtil.getUserPassword(userInfo[0]);
-        return (userInfo[1].equals(storedPassword) && !isTokenExpired(token));
+    //validate signature and expiry locally, returns null for tampered, malformed or expired tokens
+    public Claims getValidClaims(String token) {
+        try {
+            return getAllClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
     }
 
-    @Autowired
-    public void setSecretManagerUtil(SecretManagerUtil secretManagerUtil) {
-        this.secretManagerUtil = secretManagerUtil;
+    public void setSecret(String secret) {
+        this.secret = secret;
     }
 }
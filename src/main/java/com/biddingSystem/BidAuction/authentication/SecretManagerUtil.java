@@ -18,13 +18,13 @@ public class SecretManagerUtil {
 
     private SecretManagerServiceClient secretManagerServiceClient;
 
-    public String getUserPassword(String secretName) {
+    public UserCredential getUserCredential(String secretName) {
         SecretVersionName secretVersionName = SecretVersionName.of(gsmProjectId, secretName, "latest");
         LOGGER.info("Fetching credentials from GSM for secretName: {}", secretName);
         AccessSecretVersionResponse response = secretManagerServiceClient.accessSecretVersion(secretVersionName);
         LOGGER.info("Completed fetching credentials from GSM");
 
-        return response.getPayload().getData().toStringUtf8();
+        return new UserCredential(response.getPayload().getData().toStringUtf8(), response.getName());
     }
 
     @Autowired
@@ -0,0 +1,191 @@
+package com.biddingSystem.BidAuction.authentication;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory copy of the per user token versions kept in Redis, so validating a token needs no network call.
+// revokeAllTokens bumps the version and tells every instance:
+//   HINCRBY auth:token-version <userName> 1   -> tokens issued with a lower version are revoked
+//   PUBLISH auth:revocations <userName>       -> every instance applies the revocation immediately
+// It runs when a password rotation is pushed by Secret Manager (SecretRotationController) and, as a
+// fallback for missed notifications, when a login sees a new secret version.
+// Users that never revoked a token are absent from the hash and are rejected by the bloom filter
+// before the exact map is consulted. A periodic full sync covers messages missed while disconnected.
+@Component
+public class TokenRevocationFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationFilter.class);
+    private static final String TOKEN_VERSION_KEY = "auth:token-version";
+    private static final String SECRET_VERSION_KEY = "auth:secret-version";
+    private static final String REVOCATION_CHANNEL = "auth:revocations";
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    @Value("${auth.revocation.expected.users}")
+    private int expectedRevokedUsers;
+
+    private JedisPool jedisWrite;
+    private volatile BloomFilter<CharSequence> revokedUsers;
+    private volatile Map<String, Long> tokenVersions = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    // Orders revocations against the swap in syncFromRedis, so none is applied to structures being discarded
+    private final Object revocationLock = new Object();
+    private final JedisPubSub revocationListener = new JedisPubSub() {
+        @Override
+        public void onMessage(String channel, String userName) {
+            applyRevocation(userName, readTokenVersion(userName));
+        }
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            // Anything published before the subscription was active is picked up here
+            syncFromRedis();
+        }
+    };
+
+    @PostConstruct
+    public void start() {
+        revokedUsers = newBloomFilter();
+        running = true;
+        Thread subscriber = new Thread(this::subscribeToRevocations, "token-revocation-subscriber");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (revocationListener.isSubscribed()) {
+            revocationListener.unsubscribe();
+        }
+    }
+
+    public boolean isRevoked(String userName, long tokenVersion) {
+        if (!revokedUsers.mightContain(userName)) {
+            return false;
+        }
+        Long currentVersion = tokenVersions.get(userName);
+        return currentVersion != null && tokenVersion < currentVersion;
+    }
+
+    // Version to embed in a token issued now. A changed secret version means the password was rotated
+    // since the last login, so every token issued before is revoked first.
+    public long tokenVersionForLogin(String userName, String secretVersion) {
+        try (Jedis jedis = jedisWrite.getResource()) {
+            String previousSecretVersion = jedis.hget(SECRET_VERSION_KEY, userName);
+            if (!secretVersion.equals(previousSecretVersion)) {
+                jedis.hset(SECRET_VERSION_KEY, userName, secretVersion);
+                if (previousSecretVersion != null) {
+                    LOGGER.info("Password of user {} was rotated, revoking issued tokens", userName);
+                    return revokeAllTokens(jedis, userName);
+                }
+            }
+            String tokenVersion = jedis.hget(TOKEN_VERSION_KEY, userName);
+            return tokenVersion == null ? 0 : Long.parseLong(tokenVersion);
+        }
+    }
+
+    public long revokeAllTokens(String userName) {
+        try (Jedis jedis = jedisWrite.getResource()) {
+            return revokeAllTokens(jedis, userName);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync.interval.ms}", initialDelayString = "${auth.revocation.sync.interval.ms}")
+    public void syncFromRedis() {
+        BloomFilter<CharSequence> bloomFilter = newBloomFilter();
+        Map<String, Long> versions = new ConcurrentHashMap<>();
+        try (Jedis jedis = jedisWrite.getResource()) {
+            ScanParams scanParams = new ScanParams().count(1000);
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<Map.Entry<String, String>> page = jedis.hscan(TOKEN_VERSION_KEY, cursor, scanParams);
+                for (Map.Entry<String, String> entry : page.getResult()) {
+                    bloomFilter.put(entry.getKey());
+                    versions.put(entry.getKey(), Long.parseLong(entry.getValue()));
+                }
+                cursor = page.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        } catch (JedisException ex) {
+            LOGGER.warn("Unable to sync token revocations from Redis: {}", ex.getMessage());
+            return;
+        }
+        // Revocations received while scanning must survive the swap
+        synchronized (revocationLock) {
+            tokenVersions.forEach((userName, version) -> {
+                bloomFilter.put(userName);
+                versions.merge(userName, version, Math::max);
+            });
+            revokedUsers = bloomFilter;
+            tokenVersions = versions;
+        }
+    }
+
+    private long revokeAllTokens(Jedis jedis, String userName) {
+        long tokenVersion = jedis.hincrBy(TOKEN_VERSION_KEY, userName, 1);
+        applyRevocation(userName, tokenVersion);
+        jedis.publish(REVOCATION_CHANNEL, userName);
+        return tokenVersion;
+    }
+
+    private void applyRevocation(String userName, long tokenVersion) {
+        synchronized (revocationLock) {
+            tokenVersions.merge(userName, tokenVersion, Math::max);
+            revokedUsers.put(userName);
+        }
+    }
+
+    private long readTokenVersion(String userName) {
+        try (Jedis jedis = jedisWrite.getResource()) {
+            String tokenVersion = jedis.hget(TOKEN_VERSION_KEY, userName);
+            return tokenVersion == null ? 0 : Long.parseLong(tokenVersion);
+        }
+    }
+
+    private void subscribeToRevocations() {
+        while (running) {
+            try (Jedis jedis = jedisWrite.getResource()) {
+                jedis.subscribe(revocationListener, REVOCATION_CHANNEL);
+            } catch (JedisException ex) {
+                LOGGER.warn("Token revocation subscription lost, retrying: {}", ex.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private BloomFilter<CharSequence> newBloomFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedRevokedUsers, BLOOM_FALSE_POSITIVE_RATE);
+    }
+
+    public void setExpectedRevokedUsers(int expectedRevokedUsers) {
+        this.expectedRevokedUsers = expectedRevokedUsers;
+    }
+
+    @Autowired
+    @Qualifier("writeCache")
+    public void setJedisWrite(JedisPool jedisWrite) {
+        this.jedisWrite = jedisWrite;
+    }
+}
@@ -0,0 +1,20 @@
+package com.biddingSystem.BidAuction.authentication;
+
+public class UserCredential {
+    private final String password;
+    private final String secretVersion;
+
+    public UserCredential(String password, String secretVersion) {
+        this.password = password;
+        this.secretVersion = secretVersion;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    // Resolved Secret Manager version name, changes whenever the password is rotated
+    public String getSecretVersion() {
+        return secretVersion;
+    }
+}
@@ -0,0 +1,194 @@
+package com.biddingSystem.BidAuction.cache;
+
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
+import com.biddingSystem.BidAuction.dto.AuctionSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Background repair of the Redis pre-filter. Active auctions are scanned from Spanner page by page at a
+// stale timestamp, compared with Redis using one pipelined round trip per page, and every entry that is
+// missing or lower than Spanner, or carries another minimum increment, is rewritten with set-if-greater
+// so a concurrent bid is never undone. Only the instance holding the reconciler lease scans, so the Spanner
+// load does not grow with the number of instances.
+@Component
+@ConditionalOnProperty(name = "cache.reconciler.enabled", havingValue = "true", matchIfMissing = true)
+public class AuctionCacheReconciler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuctionCacheReconciler.class);
+    private static final String DRIFT_METRIC = "cache.reconciler.drift";
+    private static final String LEASE_KEY = "cache:reconciler:lease";
+
+    @Value("${cache.reconciler.page.size}")
+    private int pageSize;
+
+    @Value("${cache.reconciler.staleness.seconds}")
+    private long stalenessSeconds;
+
+    @Value("${cache.reconciler.max.pages.per.second}")
+    private int maxPagesPerSecond;
+
+    @Value("${cache.reconciler.interval.ms}")
+    private long intervalMillis;
+
+    // Renewed on every page, outlives the pause between pages by far
+    @Value("${cache.reconciler.lease.ms}")
+    private long leaseMillis;
+
+    private SpannerBidDAOImpl spannerBidDAO;
+    private JedisPool jedisWrite;
+    private AuctionStateWriter auctionStateWriter;
+    private RedisLease lease;
+    private Counter checked;
+    private Counter missing;
+    private Counter stale;
+    private Counter repaired;
+
+    @Scheduled(fixedDelayString = "${cache.reconciler.interval.ms}", initialDelayString = "${cache.reconciler.interval.ms}")
+    public void reconcile() {
+        try {
+            if (!lease.acquire(leaseMillis)) {
+                LOGGER.debug("Cache reconciliation runs on another instance");
+                return;
+            }
+        } catch (JedisException ex) {
+            LOGGER.warn("Unable to acquire cache reconciler lease: {}", ex.getMessage());
+            return;
+        }
+        try {
+            reconcileActiveAuctions();
+        } finally {
+            try {
+                // Kept until this instance's next run, so the other instances keep skipping instead of scanning in turn
+                lease.renew(intervalMillis + leaseMillis);
+            } catch (JedisException ex) {
+                LOGGER.debug("Unable to extend cache reconciler lease: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void reconcileActiveAuctions() {
+        long startMillis = System.currentTimeMillis();
+        long pageIntervalMillis = 1000L / Math.max(1, maxPagesPerSecond);
+        long checkedBefore = (long) checked.count();
+        long driftBefore = (long) (missing.count() + stale.count());
+        String lastAuctionId = "";
+        try {
+            while (true) {
+                long pageStart = System.currentTimeMillis();
+                if (!lease.renew(leaseMillis)) {
+                    LOGGER.warn("Cache reconciler lease lost after auction {}, stopping", lastAuctionId);
+                    return;
+                }
+                List<AuctionSnapshot> auctions = spannerBidDAO.readActiveAuctionsWithBids(lastAuctionId, pageSize, stalenessSeconds);
+                if (auctions.isEmpty()) {
+                    break;
+                }
+                reconcilePage(auctions);
+                if (auctions.size() < pageSize) {
+                    break;
+                }
+                lastAuctionId = auctions.get(auctions.size() - 1).getAuctionId();
+
+                long sleepMillis = pageIntervalMillis - (System.currentTimeMillis() - pageStart);
+                if (sleepMillis > 0) {
+                    Thread.sleep(sleepMillis);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException ex) {
+            LOGGER.error("Cache reconciliation stopped after auction {} with message {}", lastAuctionId, ex.getMessage());
+            return;
+        }
+        LOGGER.info("Cache reconciliation checked {} auctions, found {} drifted, in {} ms", (long) checked.count() - checkedBefore,
+                (long) (missing.count() + stale.count()) - driftBefore, System.currentTimeMillis() - startMillis);
+    }
+
+    private void reconcilePage(List<AuctionSnapshot> auctions) {
+        try (Jedis jedis = jedisWrite.getResource()) {
+            auctionStateWriter.loadScript(jedis);
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<byte[]>> cachedStates = new ArrayList<>(auctions.size());
+            for (AuctionSnapshot auction : auctions) {
+                cachedStates.add(pipeline.get(SafeEncoder.encode(auction.getAuctionId())));
+            }
+            pipeline.sync();
+
+            List<Response<Object>> repairs = new ArrayList<>();
+            for (int i = 0; i < auctions.size(); i++) {
+                AuctionSnapshot auction = auctions.get(i);
+                byte[] cachedState = cachedStates.get(i).get();
+                long spannerPriceCents = AuctionStateCodec.toCents(auction.getMaxBidPrice());
+                long minIncrementCents = AuctionStateCodec.toCents(auction.getMinIncrement());
+                checked.increment();
+                if (!AuctionStateCodec.isValid(cachedState)) {
+                    missing.increment();
+                } else if (AuctionStateCodec.priceCents(cachedState) < spannerPriceCents
+                        || (AuctionStateCodec.priceCents(cachedState) == spannerPriceCents
+                        && AuctionStateCodec.minIncrementCents(cachedState) != minIncrementCents)) {
+                    stale.increment();
+                } else {
+                    continue;
+                }
+
+                byte[] state = AuctionStateCodec.encode(spannerPriceCents, AuctionStateCodec.toCents(auction.getBasePrice()),
+                        auction.getExpireAtInSeconds(),
+                        auction.getLeaderEmail() == null ? 0 : AuctionStateCodec.userFingerprint(auction.getLeaderEmail()),
+                        minIncrementCents);
+                repairs.add(auctionStateWriter.setIfGreater(pipeline, SafeEncoder.encode(auction.getAuctionId()),
+                        state, auction.getExpireAtInSeconds()));
+            }
+            pipeline.sync();
+
+            for (Response<Object> repair : repairs) {
+                if (AuctionStateWriter.isWritten(repair.get())) {
+                    repaired.increment();
+                }
+            }
+        } catch (JedisException ex) {
+            LOGGER.warn("Unable to reconcile page of {} auctions with message {}", auctions.size(), ex.getMessage());
+        }
+    }
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.checked = Counter.builder("cache.reconciler.checked").register(meterRegistry);
+        this.missing = Counter.builder(DRIFT_METRIC).tag("type", "missing").register(meterRegistry);
+        this.stale = Counter.builder(DRIFT_METRIC).tag("type", "stale").register(meterRegistry);
+        this.repaired = Counter.builder("cache.reconciler.repaired").register(meterRegistry);
+    }
+
+    @Autowired
+    public void setSpannerBidDAO(SpannerBidDAOImpl spannerBidDAO) {
+        this.spannerBidDAO = spannerBidDAO;
+    }
+
+    @Autowired
+    @Qualifier("writeCache")
+    public void setJedisWrite(JedisPool jedisWrite) {
+        this.jedisWrite = jedisWrite;
+        this.lease = new RedisLease(jedisWrite, LEASE_KEY);
+    }
+
+    @Autowired
+    public void setAuctionStateWriter(AuctionStateWriter auctionStateWriter) {
+        this.auctionStateWriter = auctionStateWriter;
+    }
+}
@@ -0,0 +1,100 @@
+package com.biddingSystem.BidAuction.cache;
+
+import java.nio.charset.StandardCharsets;
+
+// Packed per-auction record kept in Redis under the auction id, so the bid path can apply
+// every pre-check from a single GET. Layout (big-endian, 41 bytes):
+//   [0]      format version
+//   [1..8]   max bid price in cents
+//   [9..16]  base price in cents
+//   [17..24] auction expiry, epoch seconds
+//   [25..32] fingerprint of the leading bidder
+//   [33..40] minimum bid increment in cents
+// Readers work on the raw byte[] returned by Jedis, nothing is allocated while decoding. Version 1 records
+// (without the increment) read as a miss until the next bid or the reconciler rewrites them.
+public final class AuctionStateCodec {
+    public static final byte VERSION = 2;
+    public static final int LENGTH = 41;
+    public static final int MIN_INCREMENT_OFFSET = 33;
+
+    private static final int PRICE_OFFSET = 1;
+    private static final int BASE_PRICE_OFFSET = 9;
+    private static final int EXPIRY_OFFSET = 17;
+    private static final int LEADER_OFFSET = 25;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private AuctionStateCodec() {
+    }
+
+    public static byte[] encode(long priceCents, long basePriceCents, long expireAtSeconds, long leaderFingerprint,
+                                long minIncrementCents) {
+        byte[] state = new byte[LENGTH];
+        state[0] = VERSION;
+        putLong(state, PRICE_OFFSET, priceCents);
+        putLong(state, BASE_PRICE_OFFSET, basePriceCents);
+        putLong(state, EXPIRY_OFFSET, expireAtSeconds);
+        putLong(state, LEADER_OFFSET, leaderFingerprint);
+        putLong(state, MIN_INCREMENT_OFFSET, minIncrementCents);
+        return state;
+    }
+
+    // Anything else under the key (missing value, legacy decimal string) is treated as a cache miss.
+    public static boolean isValid(byte[] state) {
+        return state != null && state.length == LENGTH && state[0] == VERSION;
+    }
+
+    public static long priceCents(byte[] state) {
+        return getLong(state, PRICE_OFFSET);
+    }
+
+    public static long basePriceCents(byte[] state) {
+        return getLong(state, BASE_PRICE_OFFSET);
+    }
+
+    public static long expireAtSeconds(byte[] state) {
+        return getLong(state, EXPIRY_OFFSET);
+    }
+
+    public static long leaderFingerprint(byte[] state) {
+        return getLong(state, LEADER_OFFSET);
+    }
+
+    public static long minIncrementCents(byte[] state) {
+        return getLong(state, MIN_INCREMENT_OFFSET);
+    }
+
+    public static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes of the user email.
+    public static long userFingerprint(String userEmail) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : userEmail.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static void putLong(byte[] buffer, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            buffer[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] buffer, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[offset + i] & 0xff);
+        }
+        return value;
+    }
+}
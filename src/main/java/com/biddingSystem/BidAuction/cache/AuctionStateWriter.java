@@ -0,0 +1,67 @@
+package com.biddingSystem.BidAuction.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.jedis.util.SafeEncoder;
+
+// Writes packed auction state with set-if-greater semantics: a record only replaces the cached one when
+// its max price is strictly higher, so racing writers and the reconciler can never move the cache backwards.
+// At an equal price it still replaces a record whose minimum increment differs, so the reconciler can apply
+// an increment changed on a live auction.
+@Component
+public class AuctionStateWriter {
+    private static final String SET_IF_GREATER_SCRIPT =
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and string.len(current) == " + AuctionStateCodec.LENGTH +
+            " and string.byte(current, 1) == " + AuctionStateCodec.VERSION + " then " +
+            "  local currentPrice = struct.unpack('>i8', current, 2) " +
+            "  local newPrice = struct.unpack('>i8', ARGV[1], 2) " +
+            "  if currentPrice > newPrice then return 0 end " +
+            "  if currentPrice == newPrice and struct.unpack('>i8', current, " + (AuctionStateCodec.MIN_INCREMENT_OFFSET + 1) +
+            ") == struct.unpack('>i8', ARGV[1], " + (AuctionStateCodec.MIN_INCREMENT_OFFSET + 1) + ") then return 0 end " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'EXAT', ARGV[2]) " +
+            "return 1";
+    private static final byte[] SET_IF_GREATER_SCRIPT_BYTES = SafeEncoder.encode(SET_IF_GREATER_SCRIPT);
+
+    private JedisPool jedisWrite;
+    private volatile byte[] scriptSha;
+
+    public boolean setIfGreater(byte[] key, byte[] state, long expireAtSeconds) {
+        try (Jedis jedis = jedisWrite.getResource()) {
+            byte[] sha = scriptSha == null ? loadScript(jedis) : scriptSha;
+            try {
+                return isWritten(jedis.evalsha(sha, 1, key, state, SafeEncoder.encode(String.valueOf(expireAtSeconds))));
+            } catch (JedisNoScriptException ex) {
+                // Script cache flushed or primary failed over
+                return isWritten(jedis.evalsha(loadScript(jedis), 1, key, state, SafeEncoder.encode(String.valueOf(expireAtSeconds))));
+            }
+        }
+    }
+
+    // Queues the write on a pipeline, caller must have called loadScript on the same connection.
+    public Response<Object> setIfGreater(Pipeline pipeline, byte[] key, byte[] state, long expireAtSeconds) {
+        return pipeline.evalsha(scriptSha, 1, key, state, SafeEncoder.encode(String.valueOf(expireAtSeconds)));
+    }
+
+    public byte[] loadScript(Jedis jedis) {
+        scriptSha = jedis.scriptLoad(SET_IF_GREATER_SCRIPT_BYTES);
+        return scriptSha;
+    }
+
+    public static boolean isWritten(Object scriptResult) {
+        return scriptResult instanceof Long && (Long) scriptResult == 1L;
+    }
+
+    @Autowired
+    @Qualifier("writeCache")
+    public void setJedisWrite(JedisPool jedisWrite) {
+        this.jedisWrite = jedisWrite;
+    }
+}
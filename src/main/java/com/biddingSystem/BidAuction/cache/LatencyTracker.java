@@ -0,0 +1,43 @@
+package com.biddingSystem.BidAuction.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Rolling p95 over the last WINDOW read latencies of one replica, used as the hedging delay.
+// The percentile is recomputed every RECOMPUTE_EVERY samples so the read path only pays for an array store.
+class LatencyTracker {
+    private static final int WINDOW = 256;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicInteger count = new AtomicInteger();
+    private final long initialP95Nanos;
+    private volatile long p95Nanos;
+
+    LatencyTracker(long initialP95Nanos) {
+        this.initialP95Nanos = initialP95Nanos;
+        this.p95Nanos = initialP95Nanos;
+    }
+
+    void record(long latencyNanos) {
+        int index = count.getAndIncrement() & Integer.MAX_VALUE;
+        samples.set(index & (WINDOW - 1), latencyNanos);
+        if ((index + 1) % RECOMPUTE_EVERY == 0) {
+            recompute(index < WINDOW ? index + 1 : WINDOW);
+        }
+    }
+
+    long p95Nanos() {
+        return p95Nanos;
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        p95Nanos = Math.max(copy[(int) (size * 0.95) - 1], initialP95Nanos / 10);
+    }
+}
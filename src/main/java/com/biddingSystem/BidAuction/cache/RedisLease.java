@@ -0,0 +1,45 @@
+package com.biddingSystem.BidAuction.cache;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.List;
+import java.util.UUID;
+
+// Expiring lease under a Redis key, held by at most one instance at a time. The holder renews it while
+// working; if it dies the lease lapses and another instance takes over on its next attempt.
+public class RedisLease {
+    private static final String RENEW_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0";
+
+    private final JedisPool jedisPool;
+    private final String key;
+    private final String owner = UUID.randomUUID().toString();
+
+    public RedisLease(JedisPool jedisPool, String key) {
+        this.jedisPool = jedisPool;
+        this.key = key;
+    }
+
+    // Takes the lease when it is free, renews it when already held
+    public boolean acquire(long leaseMillis) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            if ("OK".equals(jedis.set(key, owner, SetParams.setParams().nx().px(leaseMillis)))) {
+                return true;
+            }
+            return isOne(jedis.eval(RENEW_SCRIPT, List.of(key), List.of(owner, String.valueOf(leaseMillis))));
+        }
+    }
+
+    // False once the lease lapsed and was taken by another instance
+    public boolean renew(long leaseMillis) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return isOne(jedis.eval(RENEW_SCRIPT, List.of(key), List.of(owner, String.valueOf(leaseMillis))));
+        }
+    }
+
+    private static boolean isOne(Object scriptResult) {
+        return scriptResult instanceof Long && (Long) scriptResult == 1L;
+    }
+}
@@ -0,0 +1,262 @@
+package com.biddingSystem.BidAuction.cache;
+
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Routes cache reads across the configured read replicas. Each read goes to the healthy replica with
+// the fewest requests in flight; replicas whose replication offset falls too far behind the primary
+// (or whose link to the primary is down) are ejected until they catch up. With no healthy replica
+// reads are served by the primary.
+// A read that takes longer than its replica's recent p95 is hedged by sending the same GET to a second
+// healthy replica; whichever answers first wins. Every call is bounded by the request deadline.
+public class RedisReadRouter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisReadRouter.class);
+    private static final String PRIMARY = "primary";
+    private static final String MASTER_REPL_OFFSET = "master_repl_offset";
+    private static final String SLAVE_REPL_OFFSET = "slave_repl_offset";
+    private static final String MASTER_LINK_STATUS = "master_link_status";
+    private static final String ROLE = "role";
+    private static final long INITIAL_P95_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final Replica primary;
+    private final List<Replica> replicas;
+    private final long maxLagBytes;
+    private final ExecutorService hedgeExecutor;
+    private final Counter hedgedReads;
+
+    public RedisReadRouter(JedisPool primaryPool, List<HostAndPort> replicaAddresses, JedisPoolConfig replicaPoolConfig,
+                           MeterRegistry meterRegistry, long maxLagBytes, ExecutorService hedgeExecutor) {
+        this(primaryPool, replicaPools(replicaAddresses, replicaPoolConfig), meterRegistry, maxLagBytes, hedgeExecutor);
+    }
+
+    // Replica pools keyed by the name used in metric tags and logs
+    RedisReadRouter(JedisPool primaryPool, Map<String, JedisPool> replicaPools, MeterRegistry meterRegistry,
+                    long maxLagBytes, ExecutorService hedgeExecutor) {
+        this.primary = new Replica(PRIMARY, primaryPool, meterRegistry);
+        List<Replica> replicaList = new ArrayList<>();
+        for (Map.Entry<String, JedisPool> replicaPool : replicaPools.entrySet()) {
+            replicaList.add(new Replica(replicaPool.getKey(), replicaPool.getValue(), meterRegistry));
+        }
+        this.replicas = Collections.unmodifiableList(replicaList);
+        this.maxLagBytes = maxLagBytes;
+        this.hedgeExecutor = hedgeExecutor;
+        this.hedgedReads = Counter.builder("redis.read.hedged").register(meterRegistry);
+    }
+
+    public byte[] get(byte[] key, RequestDeadline deadline) {
+        Replica first = leastOutstandingReplica(null);
+        if (first == primary) {
+            return getFromPrimary(key, deadline);
+        }
+        Replica second = leastOutstandingReplica(first);
+        if (second == primary) {
+            // Single healthy replica, nothing to hedge against so stay on the calling thread.
+            try {
+                return first.get(key, deadline);
+            } catch (JedisException ex) {
+                return ejectAndReadPrimary(first, ex, key, deadline);
+            }
+        }
+
+        CompletableFuture<byte[]> firstRead = CompletableFuture.supplyAsync(() -> first.get(key, deadline), hedgeExecutor);
+        try {
+            long hedgeDelayNanos = Math.min(first.tracker.p95Nanos(), TimeUnit.MILLISECONDS.toNanos(deadline.remainingMillis()));
+            return firstRead.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            hedgedReads.increment();
+            CompletableFuture<byte[]> secondRead = CompletableFuture.supplyAsync(() -> second.get(key, deadline), hedgeExecutor);
+            return awaitFirstSuccessful(firstRead, secondRead, key, deadline);
+        } catch (ExecutionException ex) {
+            return ejectAndReadPrimary(first, ex.getCause(), key, deadline);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while reading from cache", ex);
+        }
+    }
+
+    public byte[] getFromPrimary(byte[] key, RequestDeadline deadline) {
+        return primary.get(key, deadline);
+    }
+
+    public JedisPool getPrimaryPool() {
+        return primary.pool;
+    }
+
+    // Compares every replica's applied offset with the primary's and ejects or re-admits it.
+    @Scheduled(fixedDelayString = "${redis.replica.lag.check.interval.ms:1000}")
+    public void checkReplicaLag() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        long primaryOffset;
+        try (Jedis jedis = primary.pool.getResource()) {
+            primaryOffset = parseLong(jedis.info("replication"), MASTER_REPL_OFFSET);
+        } catch (JedisException ex) {
+            LOGGER.warn("Unable to read replication offset from primary: {}", ex.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Jedis jedis = replica.pool.getResource()) {
+                String info = jedis.info("replication");
+                if ("master".equals(parseString(info, ROLE))) {
+                    // Read host points at the primary itself (single node setups), it can never lag.
+                    replica.lagBytes = 0;
+                    replica.healthy = true;
+                } else {
+                    replica.lagBytes = Math.max(0, primaryOffset - parseLong(info, SLAVE_REPL_OFFSET));
+                    replica.healthy = "up".equals(parseString(info, MASTER_LINK_STATUS)) && replica.lagBytes <= maxLagBytes;
+                }
+            } catch (JedisException ex) {
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                LOGGER.warn("Replica {} is now {}, lag {} bytes", replica.name, replica.healthy ? "healthy" : "ejected", replica.lagBytes);
+            }
+        }
+    }
+
+    private byte[] awaitFirstSuccessful(CompletableFuture<byte[]> firstRead, CompletableFuture<byte[]> secondRead,
+                                        byte[] key, RequestDeadline deadline) {
+        CompletableFuture<byte[]> winner = new CompletableFuture<>();
+        CompletableFuture.allOf(firstRead, secondRead).whenComplete((ignored, ex) -> {
+            if (firstRead.isCompletedExceptionally() && secondRead.isCompletedExceptionally()) {
+                winner.completeExceptionally(ex);
+            }
+        });
+        firstRead.thenAccept(winner::complete);
+        secondRead.thenAccept(winner::complete);
+        try {
+            return winner.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException("Request deadline exceeded while reading from cache", ex);
+        } catch (ExecutionException ex) {
+            LOGGER.warn("Hedged read failed on both replicas, reading from primary: {}", ex.getCause().getMessage());
+            return getFromPrimary(key, deadline);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while reading from cache", ex);
+        } finally {
+            firstRead.cancel(false);
+            secondRead.cancel(false);
+        }
+    }
+
+    private byte[] ejectAndReadPrimary(Replica replica, Throwable cause, byte[] key, RequestDeadline deadline) {
+        if (cause instanceof DeadlineExceededException) {
+            throw (DeadlineExceededException) cause;
+        }
+        LOGGER.warn("Read from replica {} failed, ejecting it and reading from primary: {}", replica.name, cause.getMessage());
+        replica.healthy = false;
+        return getFromPrimary(key, deadline);
+    }
+
+    private Replica leastOutstandingReplica(Replica excluded) {
+        Replica selected = primary;
+        int minOutstanding = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            int outstanding = replica.outstanding.get();
+            if (replica.healthy && replica != excluded && outstanding < minOutstanding) {
+                selected = replica;
+                minOutstanding = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    private static Map<String, JedisPool> replicaPools(List<HostAndPort> replicaAddresses, JedisPoolConfig replicaPoolConfig) {
+        Map<String, JedisPool> replicaPools = new LinkedHashMap<>();
+        for (HostAndPort address : replicaAddresses) {
+            replicaPools.put(address.toString(), new JedisPool(replicaPoolConfig, address.getHost(), address.getPort()));
+        }
+        return replicaPools;
+    }
+
+    private static String parseString(String info, String field) {
+        String prefix = field + ":";
+        for (String line : info.split("\r\n")) {
+            if (line.startsWith(prefix)) {
+                return line.substring(prefix.length()).trim();
+            }
+        }
+        return null;
+    }
+
+    private static long parseLong(String info, String field) {
+        String value = parseString(info, field);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final JedisPool pool;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Timer latency;
+        private final LatencyTracker tracker = new LatencyTracker(INITIAL_P95_NANOS);
+        private volatile boolean healthy = true;
+        private volatile long lagBytes;
+
+        private Replica(String name, JedisPool pool, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pool = pool;
+            this.latency = Timer.builder("redis.read.latency")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.read.outstanding", outstanding, AtomicInteger::get)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.replica.lag.bytes", this, replica -> replica.lagBytes)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        private byte[] get(byte[] key, RequestDeadline deadline) {
+            deadline.checkNotExpired("cache read");
+            outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            try (Jedis jedis = pool.getResource()) {
+                jedis.getConnection().setSoTimeout((int) Math.max(1, deadline.remainingMillis()));
+                try {
+                    return jedis.get(key);
+                } finally {
+                    if (!jedis.getConnection().isBroken()) {
+                        jedis.getConnection().rollbackTimeout();
+                    }
+                }
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                latency.record(elapsed, TimeUnit.NANOSECONDS);
+                tracker.record(elapsed);
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+}
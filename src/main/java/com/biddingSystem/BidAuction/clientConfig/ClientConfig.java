@@ -1,19 +1,30 @@
 package com.biddingSystem.BidAuction.clientConfig;
 
+import com.biddingSystem.BidAuction.cache.RedisReadRouter;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.NoCredentials;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.DatabaseId;
 import com.google.cloud.spanner.Spanner;
 import com.google.cloud.spanner.SpannerOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class ClientConfig {
@@ -27,47 +38,79 @@ public class ClientConfig {
     @Value("${spanner.databaseId}")
     private String DATABASE_ID;
 
+    // host:port of a local Spanner emulator, empty to use the real instance
+    @Value("${spanner.emulator.host:}")
+    private String SPANNER_EMULATOR_HOST;
+
     @Value("${redis.port}")
     private int REDIS_PORT;
 
     @Value("${redis.write.host}")
     private String REDIS_WRITE_HOST;
 
+    // Comma separated list of read replicas
     @Value("${redis.read.host}")
-    private String REDIS_READ_HOST;
+    private String[] REDIS_READ_HOSTS;
+
+    @Value("${redis.replica.max.lag.bytes}")
+    private long REDIS_REPLICA_MAX_LAG_BYTES;
+
+    @Value("${redis.read.hedge.threads}")
+    private int REDIS_HEDGE_THREADS;
+
+    @Value("${bid.request.timeout.ms}")
+    private long BID_REQUEST_TIMEOUT_MS;
 
     @Bean
     public DatabaseClient databaseClient() throws IOException {
-        Spanner spanner = SpannerOptions.newBuilder()
-                .setProjectId(PROJECT_NAME)
-                .setCredentials(GoogleCredentials.getApplicationDefault())
-                .build()
-                .getService();
+        SpannerOptions.Builder builder = SpannerOptions.newBuilder().setProjectId(PROJECT_NAME);
+        if (SPANNER_EMULATOR_HOST.isEmpty()) {
+            builder.setCredentials(GoogleCredentials.getApplicationDefault());
+        } else {
+            builder.setEmulatorHost(SPANNER_EMULATOR_HOST).setCredentials(NoCredentials.getInstance());
+        }
+        Spanner spanner = builder.build().getService();
 
         return spanner.getDatabaseClient(DatabaseId.of(PROJECT_NAME, INSTANCE_ID, DATABASE_ID));
     }
 
     @Bean
     @Qualifier("writeCache")
-    public Jedis jedisWrite() {
+    public JedisPool jedisWrite() {
         JedisPoolConfig poolConfig = new JedisPoolConfig();
         // Default : 8, consider how many concurrent connections into Redis you will need under load
         poolConfig.setMaxTotal(128);
+        // Never wait for a free connection longer than a whole request may take
+        poolConfig.setMaxWait(Duration.ofMillis(BID_REQUEST_TIMEOUT_MS));
 
-        try (JedisPool jedisPool = new JedisPool(poolConfig, REDIS_WRITE_HOST, REDIS_PORT)) {
-            return jedisPool.getResource();
-        }
+        return new JedisPool(poolConfig, REDIS_WRITE_HOST, REDIS_PORT);
+    }
+
+    // Hedged reads run here; when saturated the caller runs the read itself instead of queueing behind others.
+    // Daemon threads and shut down with the context, so a read still in flight never keeps the JVM alive.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService redisHedgeExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(REDIS_HEDGE_THREADS, REDIS_HEDGE_THREADS, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "redis-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     @Bean
-    @Qualifier("readCache")
-    public Jedis jedisRead() {
+    public RedisReadRouter redisReadRouter(@Qualifier("writeCache") JedisPool jedisWrite, MeterRegistry meterRegistry,
+                                           @Qualifier("redisHedgeExecutor") ExecutorService hedgeExecutor) {
         JedisPoolConfig poolConfig = new JedisPoolConfig();
         // Default : 8, consider how many concurrent connections into Redis you will need under load
         poolConfig.setMaxTotal(256);
+        poolConfig.setMaxWait(Duration.ofMillis(BID_REQUEST_TIMEOUT_MS));
 
-        try (JedisPool jedisPool = new JedisPool(poolConfig, REDIS_READ_HOST, REDIS_PORT)) {
-            return jedisPool.getResource();
+        List<HostAndPort> replicaAddresses = new ArrayList<>();
+        for (String readHost : REDIS_READ_HOSTS) {
+            replicaAddresses.add(new HostAndPort(readHost.trim(), REDIS_PORT));
         }
+        return new RedisReadRouter(jedisWrite, replicaAddresses, poolConfig, meterRegistry, REDIS_REPLICA_MAX_LAG_BYTES, hedgeExecutor);
     }
 }
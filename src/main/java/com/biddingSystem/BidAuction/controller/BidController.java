@@ -1,10 +1,15 @@
 package com.biddingSystem.BidAuction.controller;
 
 import com.biddingSystem.BidAuction.authentication.AuthenticationService;
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.logging.BidRequestLog;
+import com.biddingSystem.BidAuction.logging.BidRequestLogger;
 import com.biddingSystem.BidAuction.service.impl.BidServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +19,15 @@ public class BidController {
     private static final Logger LOGGER = LoggerFactory.getLogger(BidController.class);
     private static final String TOKEN_NOT_VALID = "Token Not Valid";
     private static final String SUCCESS = "Success";
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    private static final String INVALID_REQUEST_TIMEOUT = REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds";
+
+    @Value("${bid.request.timeout.ms}")
+    private long defaultRequestTimeoutMs;
 
     private AuthenticationService authenticationService;
     private BidServiceImpl bidService;
+    private BidRequestLogger bidRequestLogger;
 
     @GetMapping("/")
     public String hello() {
@@ -37,28 +48,48 @@ public class BidController {
 
     @PostMapping("/placeBid")
     public ResponseEntity<String> placeBid(@RequestParam String auctionId, @RequestParam double bidPrice,
-                                           @RequestHeader("Authorization") String token) {
-        LOGGER.info("Placing bid for the given auctionId: {}", auctionId);
+                                           @RequestHeader("Authorization") String token,
+                                           @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeoutMs) {
+        BidRequestLog requestLog = BidRequestLog.start(auctionId);
+        ResponseEntity<String> response = placeBidWithDeadline(auctionId, bidPrice, token, requestTimeoutMs);
+        bidRequestLogger.finish(requestLog, response.getStatusCode().value(), response.getBody());
+        return response;
+    }
+
+    private ResponseEntity<String> placeBidWithDeadline(String auctionId, double bidPrice, String token, Long requestTimeoutMs) {
+        if (requestTimeoutMs != null && requestTimeoutMs <= 0) {
+            return new ResponseEntity<>(INVALID_REQUEST_TIMEOUT, HttpStatus.BAD_REQUEST);
+        }
+        // Client supplied budget, never more than the server side default
+        long timeoutMs = requestTimeoutMs == null ? defaultRequestTimeoutMs : Math.min(requestTimeoutMs, defaultRequestTimeoutMs);
+        RequestDeadline deadline = RequestDeadline.after(timeoutMs);
         try {
+            long authStart = System.nanoTime();
             String userEmail = authenticationService.getUserNameFromValidToken(token);
+            BidRequestLog.recordStage(BidRequestLog.Stage.AUTH, authStart);
             if (userEmail == null) {
-                LOGGER.warn(TOKEN_NOT_VALID);
                 return new ResponseEntity<>(TOKEN_NOT_VALID, HttpStatus.UNAUTHORIZED);
             }
             userEmail = userEmail.replace('_', '@').replace('-','.');
-            String response = bidService.placeBid(auctionId, bidPrice, userEmail);
+            String response = bidService.placeBid(auctionId, bidPrice, userEmail, deadline);
 
             if (response.contains(SUCCESS)) {
                 return new ResponseEntity<>(response, HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
             }
+        } catch (DeadlineExceededException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.GATEWAY_TIMEOUT);
         } catch (Exception ex) {
-            LOGGER.error("Error while placing bid for auction: {} with message {}", auctionId, ex.getMessage());
+            LOGGER.error("Error while placing bid for auction: {}", auctionId, ex);
             return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    public void setDefaultRequestTimeoutMs(long defaultRequestTimeoutMs) {
+        this.defaultRequestTimeoutMs = defaultRequestTimeoutMs;
+    }
+
     @Autowired
     public void setAuthenticationService(AuthenticationService authenticationService) {
         this.authenticationService = authenticationService;
@@ -68,4 +99,9 @@ public class BidController {
     public void setBidService(BidServiceImpl bidService) {
         this.bidService = bidService;
     }
+
+    @Autowired
+    public void setBidRequestLogger(BidRequestLogger bidRequestLogger) {
+        this.bidRequestLogger = bidRequestLogger;
+    }
 }
@@ -0,0 +1,97 @@
+package com.biddingSystem.BidAuction.controller;
+
+import com.biddingSystem.BidAuction.authentication.AuthenticationService;
+import com.biddingSystem.BidAuction.dto.PubSubPushRequest;
+import com.google.api.client.json.webtoken.JsonWebToken;
+import com.google.auth.oauth2.TokenVerifier;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+
+// Push endpoint of the Pub/Sub subscription on the Secret Manager notification topic of the user secrets.
+// A new, re-enabled, disabled or destroyed version of a user's secret revokes every token issued to that
+// user right away, without waiting for the user to log in again. Non 2xx answers make Pub/Sub redeliver.
+// The subscription must push with OIDC authentication: every delivery carries a Google signed JWT for the
+// configured audience, issued to the configured service account.
+@RestController
+public class SecretRotationController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecretRotationController.class);
+    private static final String BEARER = "Bearer ";
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+
+    // Audience set on the push subscription, empty rejects every delivery
+    @Value("${auth.rotation.push.audience}")
+    private String pushAudience;
+
+    // Service account the push subscription authenticates as
+    @Value("${auth.rotation.push.service.account}")
+    private String pushServiceAccount;
+
+    private TokenVerifier tokenVerifier;
+    private AuthenticationService authenticationService;
+
+    @PostConstruct
+    public void init() {
+        if (!pushAudience.isEmpty()) {
+            tokenVerifier = TokenVerifier.newBuilder().setAudience(pushAudience).build();
+        }
+    }
+
+    @PostMapping("/secretRotations")
+    public ResponseEntity<Void> secretChanged(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                              @RequestBody PubSubPushRequest pushRequest) {
+        if (!isFromPushSubscription(authorization)) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        if (pushRequest.getMessage() == null || pushRequest.getMessage().getAttributes() == null) {
+            // Malformed, redelivering would not help
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        Map<String, String> attributes = pushRequest.getMessage().getAttributes();
+        try {
+            authenticationService.revokeOnSecretChange(attributes.get("eventType"), attributes.get("secretId"));
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (Exception ex) {
+            LOGGER.error("Unable to revoke tokens for secret change {}", pushRequest.getMessage().getMessageId(), ex);
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    // Signature, expiry and audience are checked by the verifier, issuer and sender here
+    private boolean isFromPushSubscription(String authorization) {
+        if (tokenVerifier == null || pushServiceAccount.isEmpty() || authorization == null || !authorization.startsWith(BEARER)) {
+            return false;
+        }
+        try {
+            JsonWebToken.Payload payload = tokenVerifier.verify(authorization.substring(BEARER.length())).getPayload();
+            return GOOGLE_ISSUERS.contains(payload.getIssuer())
+                    && pushServiceAccount.equals(payload.get("email"))
+                    && Boolean.TRUE.equals(payload.get("email_verified"));
+        } catch (TokenVerifier.VerificationException ex) {
+            LOGGER.warn("Rejected secret rotation push: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    public void setPushAuthentication(TokenVerifier tokenVerifier, String pushServiceAccount) {
+        this.tokenVerifier = tokenVerifier;
+        this.pushServiceAccount = pushServiceAccount;
+    }
+
+    @Autowired
+    public void setAuthenticationService(AuthenticationService authenticationService) {
+        this.authenticationService = authenticationService;
+    }
+}
@@ -1,7 +1,13 @@
 package com.biddingSystem.BidAuction.dao;
 
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.dto.AuctionSnapshot;
 import com.biddingSystem.BidAuction.dto.BidResponse;
 
+import java.util.List;
+
 public interface SpannerBidDAO {
-    BidResponse placeBid(String auctionId, double bidPrice, String userEmail);
+    BidResponse placeBid(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline);
+
+    List<AuctionSnapshot> readActiveAuctionsWithBids(String afterAuctionId, int pageSize, long stalenessSeconds);
 }
@@ -0,0 +1,32 @@
+package com.biddingSystem.BidAuction.dao;
+
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import com.biddingSystem.BidAuction.dto.OutboxCheckpoint;
+
+import java.util.List;
+
+public interface SpannerBidEventDAO {
+    // BID_EVENT keys start with a shard so outbox inserts do not all land on the newest commit timestamp.
+    // All events of an auction go to the same shard, which keeps them in commit order for consumers.
+    int SHARDS = 16;
+
+    // BID_EVENT table, written by SpannerBidDAO in the bid transaction and read here by the outbox relay
+    String BID_EVENT = "BID_EVENT";
+    String SHARD_ID = "SHARD_ID";
+    String COMMIT_TIME = "COMMIT_TIME";
+    String EVENT_ID = "EVENT_ID";
+    String AUCTION_ID = "AUCTION_ID";
+    String USER_EMAIL = "USER_EMAIL";
+    String BID_PRICE = "BID_PRICE";
+    String PREV_MAX_BID_PRICE = "PREV_MAX_BID_PRICE";
+
+    static int shardOf(String auctionId) {
+        return (auctionId.hashCode() & 0x7fffffff) % SHARDS;
+    }
+
+    List<BidEvent> readBidEvents(int shardId, OutboxCheckpoint after, int pageSize);
+
+    OutboxCheckpoint claimShard(String sink, int shardId, String owner, long leaseMillis);
+
+    boolean advanceCheckpoint(String sink, int shardId, String owner, OutboxCheckpoint checkpoint, long leaseMillis);
+}
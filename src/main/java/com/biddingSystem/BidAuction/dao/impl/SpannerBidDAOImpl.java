@@ -1,17 +1,32 @@
 package com.biddingSystem.BidAuction.dao.impl;
 
+import com.biddingSystem.BidAuction.cache.AuctionStateCodec;
 import com.biddingSystem.BidAuction.dao.SpannerBidDAO;
+import com.biddingSystem.BidAuction.dao.SpannerBidEventDAO;
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.dto.AuctionSnapshot;
 import com.biddingSystem.BidAuction.dto.BidResponse;
+import com.biddingSystem.BidAuction.priceLadder.PriceLadder;
 import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.*;
+import io.grpc.Context;
+import io.grpc.Deadline;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Repository
 public class SpannerBidDAOImpl implements SpannerBidDAO {
@@ -19,12 +34,17 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
     private static final String BASE_PRICE = "BASE_PRICE";
     private static final String MAX_BID_PRICE = "MAX_BID_PRICE";
     private static final String PREV_BID_PRICE = "PREV_BID_PRICE";
+    private static final String MIN_INCREMENT = "MIN_INCREMENT";
     private static final String AUCTION_EXPIRY_TIME = "AUCTION_EXPIRY_TIME";
     private static final String AUCTION_ID = "auctionId";
     private static final String EMAIL = "email";
     private static final String BID_PRICE = "bidPrice";
+    private static final String LAST_AUCTION_ID = "lastAuctionId";
+    private static final String PAGE_SIZE = "pageSize";
+    private static final String AUCTION_ID_COLUMN = "AUCTION_ID";
+    private static final String EMAIL_COLUMN = "EMAIL";
 
-    private static final String READ_CURRENT_AUCTION_DATA_SQL = "SELECT BASE_PRICE, MAX_BID_PRICE FROM AUCTION " +
+    private static final String READ_CURRENT_AUCTION_DATA_SQL = "SELECT BASE_PRICE, MAX_BID_PRICE, MIN_INCREMENT FROM AUCTION " +
             "WHERE AUCTION_ID = @auctionId AND AUCTION_EXPIRY_TIME > CURRENT_TIMESTAMP";
     private static final String READ_CURRENT_BID_DATA_SQL = "SELECT MAX_BID_PRICE FROM BID " +
             "WHERE AUCTION_ID = @auctionId AND C_USER_ID = (SELECT C_USER_ID FROM C_USER WHERE EMAIL = @email)";
@@ -34,12 +54,48 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
             "AND C_USER_ID = (SELECT C_USER_ID FROM C_USER WHERE EMAIL = @email)";
     private static final String INSERT_BID_SQL = "INSERT INTO BID(AUCTION_ID, C_USER_ID, MAX_BID_PRICE, BID_TIME) " +
             "VALUES (@auctionID, (SELECT C_USER_ID FROM C_USER WHERE EMAIL = @email), @bidPrice, CURRENT_TIMESTAMP)";
+    private static final String READ_ACTIVE_AUCTIONS_SQL = "SELECT A.AUCTION_ID, A.BASE_PRICE, A.MAX_BID_PRICE, A.MIN_INCREMENT, A.AUCTION_EXPIRY_TIME, U.EMAIL " +
+            "FROM AUCTION A LEFT JOIN C_USER U ON A.C_USER_ID = U.C_USER_ID " +
+            "WHERE A.AUCTION_ID > @lastAuctionId AND A.AUCTION_EXPIRY_TIME > CURRENT_TIMESTAMP AND A.MAX_BID_PRICE IS NOT NULL " +
+            "ORDER BY A.AUCTION_ID LIMIT @pageSize";
+    // Fires the gRPC context cancellation once a request deadline passes
+    private static final ScheduledExecutorService DEADLINE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spanner-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
     private DatabaseClient databaseClient;
     @Override
-    public BidResponse placeBid(String auctionId, double bidPrice, String userEmail) {
-        LOGGER.info("Inside SpannerBidDao, placing bid.");
+    public BidResponse placeBid(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline) {
+        LOGGER.debug("Inside SpannerBidDao, placing bid.");
+        deadline.checkNotExpired("spanner transaction");
 
-        return databaseClient.readWriteTransaction().run(transaction -> {
+        // Every RPC issued by the transaction (including retried attempts) inherits the gRPC context deadline,
+        // so an expired request stops holding sessions and locks instead of retrying aborts indefinitely.
+        Context.CancellableContext context = Context.current()
+                .withDeadline(Deadline.after(deadline.remainingMillis(), TimeUnit.MILLISECONDS), DEADLINE_SCHEDULER);
+        Context previous = context.attach();
+        try {
+            return runBidTransaction(auctionId, bidPrice, userEmail, deadline);
+        } catch (SpannerException ex) {
+            if (ex.getErrorCode() == ErrorCode.DEADLINE_EXCEEDED || (ex.getErrorCode() == ErrorCode.CANCELLED && deadline.isExpired())) {
+                throw new DeadlineExceededException("Request deadline exceeded while placing bid in Spanner", ex);
+            }
+            throw ex;
+        } finally {
+            context.detach(previous);
+            context.cancel(null);
+        }
+    }
+
+    private BidResponse runBidTransaction(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline) {
+        // The runner re-invokes the function for every aborted attempt
+        AtomicInteger attempts = new AtomicInteger();
+        BidResponse response = databaseClient.readWriteTransaction().run(transaction -> {
+            attempts.incrementAndGet();
+            if (deadline.isExpired()) {
+                throw SpannerExceptionFactory.newSpannerException(ErrorCode.DEADLINE_EXCEEDED, "Request deadline exceeded before transaction attempt");
+            }
             BidResponse bidResponse;
             Map<String, Double> currentDataMap = getCurrentData(transaction, auctionId, userEmail);
             String preCheckFailedMessage = preChecks(currentDataMap, bidPrice);
@@ -47,7 +103,7 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
                 bidResponse = new BidResponse();
                 bidResponse.setBidPlaced(false);
                 bidResponse.setMessage(preCheckFailedMessage);
-                LOGGER.info(preCheckFailedMessage);
+                LOGGER.debug(preCheckFailedMessage);
                 return bidResponse;
             }
 
@@ -57,18 +113,23 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
             } else {
                 updateBidInfo(transaction, auctionId, bidPrice, userEmail, UPDATE_BID_SQL);
             }
+            transaction.buffer(bidEventMutation(auctionId, bidPrice, userEmail, currentDataMap.get(MAX_BID_PRICE)));
 
             bidResponse = new BidResponse();
             bidResponse.setBidPlaced(true);
             bidResponse.setExpireAtInSeconds(expiryInSeconds);
+            bidResponse.setBasePrice(currentDataMap.get(BASE_PRICE));
+            bidResponse.setMinIncrement(currentDataMap.getOrDefault(MIN_INCREMENT, 0.0));
             bidResponse.setMessage("Success, Bid Placed.");
-            LOGGER.info(bidResponse.getMessage());
+            LOGGER.debug(bidResponse.getMessage());
             return bidResponse;
         });
+        response.setAbortedAttempts(attempts.get() - 1);
+        return response;
     }
 
     private String preChecks(Map<String, Double> currentDataMap, double bidPrice) {
-        LOGGER.info("Applying pre-checks for placing bid");
+        LOGGER.debug("Applying pre-checks for placing bid");
         if (currentDataMap.get(BASE_PRICE) == null) {
             return "Auction Completed, Bid can't be placed.";
         }
@@ -81,12 +142,20 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
             return "Already a higher bid is placed for this auction, Re-Shop and place bid again.";
         }
 
+        if (currentDataMap.get(MAX_BID_PRICE) != null) {
+            long maxBidCents = AuctionStateCodec.toCents(currentDataMap.get(MAX_BID_PRICE));
+            long minIncrementCents = AuctionStateCodec.toCents(currentDataMap.getOrDefault(MIN_INCREMENT, 0.0));
+            if (PriceLadder.isBelowIncrement(AuctionStateCodec.toCents(bidPrice), maxBidCents, minIncrementCents)) {
+                return PriceLadder.belowIncrementMessage(maxBidCents, minIncrementCents);
+            }
+        }
+
         return null;
     }
 
     private Map<String, Double> getCurrentData(TransactionContext transaction, String auctionId, String userEmail) {
         Map<String, Double> currentData = new HashMap<>();
-        LOGGER.info("Getting current data for auction.");
+        LOGGER.debug("Getting current data for auction.");
         Statement readStatement = Statement.newBuilder(READ_CURRENT_AUCTION_DATA_SQL)
                 .bind(AUCTION_ID)
                 .to(auctionId)
@@ -100,6 +169,9 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
                 if (!maxBidValue.isNull()) {
                     currentData.put(MAX_BID_PRICE, maxBidValue.getFloat64());
                 }
+                if (!resultSet.isNull(MIN_INCREMENT)) {
+                    currentData.put(MIN_INCREMENT, resultSet.getDouble(MIN_INCREMENT));
+                }
             }
         }
         if (currentData.get(BASE_PRICE) != null) {
@@ -122,7 +194,7 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
     }
 
     private long updateAuctionAndGetExpiry(TransactionContext transaction, String auctionId, double bidPrice, String userEmail) {
-        LOGGER.info("Updating auction details with new max bid.");
+        LOGGER.debug("Updating auction details with new max bid.");
         Statement updateAuctionStatement = Statement.newBuilder(UPDATE_AUCTION_SQL)
                 .bind(AUCTION_ID)
                 .to(auctionId)
@@ -142,7 +214,7 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
     }
 
     private void updateBidInfo(TransactionContext transaction, String auctionId, double bidPrice, String userEmail, String sql) {
-        LOGGER.info("Update Bid info for user");
+        LOGGER.debug("Update Bid info for user");
         Statement updateBidStatement = Statement.newBuilder(sql)
                 .bind(BID_PRICE)
                 .to(bidPrice)
@@ -154,6 +226,51 @@ public class SpannerBidDAOImpl implements SpannerBidDAO {
         transaction.executeUpdate(updateBidStatement);
     }
 
+    // Outbox row committed with the bid and published downstream by BidEventRelay. Buffered, so it costs
+    // no extra round trip inside the transaction.
+    private Mutation bidEventMutation(String auctionId, double bidPrice, String userEmail, Double previousMaxBidPrice) {
+        return Mutation.newInsertBuilder(SpannerBidEventDAO.BID_EVENT)
+                .set(SpannerBidEventDAO.SHARD_ID).to(SpannerBidEventDAO.shardOf(auctionId))
+                .set(SpannerBidEventDAO.COMMIT_TIME).to(Value.COMMIT_TIMESTAMP)
+                .set(SpannerBidEventDAO.EVENT_ID).to(UUID.randomUUID().toString())
+                .set(SpannerBidEventDAO.AUCTION_ID).to(auctionId)
+                .set(SpannerBidEventDAO.USER_EMAIL).to(userEmail)
+                .set(SpannerBidEventDAO.BID_PRICE).to(bidPrice)
+                .set(SpannerBidEventDAO.PREV_MAX_BID_PRICE).to(previousMaxBidPrice)
+                .build();
+    }
+
+    // Keyset paged scan at a stale timestamp so it is served by any replica without taking locks
+    @Override
+    public List<AuctionSnapshot> readActiveAuctionsWithBids(String afterAuctionId, int pageSize, long stalenessSeconds) {
+        Statement statement = Statement.newBuilder(READ_ACTIVE_AUCTIONS_SQL)
+                .bind(LAST_AUCTION_ID)
+                .to(afterAuctionId)
+                .bind(PAGE_SIZE)
+                .to(pageSize)
+                .build();
+
+        List<AuctionSnapshot> auctions = new ArrayList<>();
+        try (ResultSet resultSet = databaseClient.singleUse(TimestampBound.ofExactStaleness(stalenessSeconds, TimeUnit.SECONDS))
+                .executeQuery(statement)) {
+            while (resultSet.next()) {
+                AuctionSnapshot auction = new AuctionSnapshot();
+                auction.setAuctionId(resultSet.getString(AUCTION_ID_COLUMN));
+                auction.setBasePrice(resultSet.getDouble(BASE_PRICE));
+                auction.setMaxBidPrice(resultSet.getDouble(MAX_BID_PRICE));
+                if (!resultSet.isNull(MIN_INCREMENT)) {
+                    auction.setMinIncrement(resultSet.getDouble(MIN_INCREMENT));
+                }
+                auction.setExpireAtInSeconds(resultSet.getTimestamp(AUCTION_EXPIRY_TIME).getSeconds());
+                if (!resultSet.isNull(EMAIL_COLUMN)) {
+                    auction.setLeaderEmail(resultSet.getString(EMAIL_COLUMN));
+                }
+                auctions.add(auction);
+            }
+        }
+        return auctions;
+    }
+
     @Autowired
     public void setDatabaseClient(DatabaseClient databaseClient) {
         this.databaseClient = databaseClient;
@@ -0,0 +1,136 @@
+package com.biddingSystem.BidAuction.dao.impl;
+
+import com.biddingSystem.BidAuction.dao.SpannerBidEventDAO;
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import com.biddingSystem.BidAuction.dto.OutboxCheckpoint;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class SpannerBidEventDAOImpl implements SpannerBidEventDAO {
+    private static final String OUTBOX_CHECKPOINT = "OUTBOX_CHECKPOINT";
+    private static final String SINK = "SINK";
+    private static final String OWNER = "OWNER";
+    private static final String LEASE_EXPIRY_TIME = "LEASE_EXPIRY_TIME";
+
+    // Commit timestamps only grow, so a strong read never misses a row behind the checkpoint: a transaction
+    // still in flight commits with a timestamp later than the read.
+    private static final String READ_BID_EVENTS_SQL = "SELECT EVENT_ID, AUCTION_ID, USER_EMAIL, BID_PRICE, PREV_MAX_BID_PRICE, COMMIT_TIME " +
+            "FROM BID_EVENT WHERE SHARD_ID = @shardId " +
+            "AND (COMMIT_TIME > @commitTime OR (COMMIT_TIME = @commitTime AND EVENT_ID > @eventId)) " +
+            "ORDER BY COMMIT_TIME, EVENT_ID LIMIT @pageSize";
+    private static final String READ_CHECKPOINT_SQL = "SELECT COMMIT_TIME, EVENT_ID, OWNER, LEASE_EXPIRY_TIME FROM OUTBOX_CHECKPOINT " +
+            "WHERE SINK = @sink AND SHARD_ID = @shardId";
+    private static final String ADVANCE_CHECKPOINT_SQL = "UPDATE OUTBOX_CHECKPOINT SET COMMIT_TIME = @commitTime, EVENT_ID = @eventId, " +
+            "LEASE_EXPIRY_TIME = @leaseExpiryTime WHERE SINK = @sink AND SHARD_ID = @shardId AND OWNER = @owner";
+
+    private DatabaseClient databaseClient;
+
+    @Override
+    public List<BidEvent> readBidEvents(int shardId, OutboxCheckpoint after, int pageSize) {
+        Statement statement = Statement.newBuilder(READ_BID_EVENTS_SQL)
+                .bind("shardId")
+                .to(shardId)
+                .bind("commitTime")
+                .to(after.getCommitTime())
+                .bind("eventId")
+                .to(after.getEventId())
+                .bind("pageSize")
+                .to(pageSize)
+                .build();
+
+        List<BidEvent> events = new ArrayList<>();
+        try (ResultSet resultSet = databaseClient.singleUse().executeQuery(statement)) {
+            while (resultSet.next()) {
+                BidEvent event = new BidEvent();
+                event.setEventId(resultSet.getString(EVENT_ID));
+                event.setAuctionId(resultSet.getString(AUCTION_ID));
+                event.setUserEmail(resultSet.getString(USER_EMAIL));
+                event.setBidPrice(resultSet.getDouble(BID_PRICE));
+                if (!resultSet.isNull(PREV_MAX_BID_PRICE)) {
+                    event.setPreviousMaxBidPrice(resultSet.getDouble(PREV_MAX_BID_PRICE));
+                }
+                event.setCommitTime(resultSet.getTimestamp(COMMIT_TIME));
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    // Takes or renews the lease on a shard and returns its checkpoint, or null while another instance holds
+    // an unexpired lease. A shard without a checkpoint starts from the oldest event.
+    @Override
+    public OutboxCheckpoint claimShard(String sink, int shardId, String owner, long leaseMillis) {
+        Statement statement = Statement.newBuilder(READ_CHECKPOINT_SQL)
+                .bind("sink")
+                .to(sink)
+                .bind("shardId")
+                .to(shardId)
+                .build();
+        return databaseClient.readWriteTransaction().run(transaction -> {
+            Timestamp now = Timestamp.now();
+            Timestamp leaseExpiryTime = leaseExpiry(leaseMillis);
+            try (ResultSet resultSet = transaction.executeQuery(statement)) {
+                if (!resultSet.next()) {
+                    transaction.buffer(Mutation.newInsertBuilder(OUTBOX_CHECKPOINT)
+                            .set(SINK).to(sink)
+                            .set(SHARD_ID).to(shardId)
+                            .set(COMMIT_TIME).to(Timestamp.MIN_VALUE)
+                            .set(EVENT_ID).to("")
+                            .set(OWNER).to(owner)
+                            .set(LEASE_EXPIRY_TIME).to(leaseExpiryTime)
+                            .build());
+                    return new OutboxCheckpoint(Timestamp.MIN_VALUE, "");
+                }
+                boolean heldByOther = !resultSet.isNull(OWNER) && !owner.equals(resultSet.getString(OWNER))
+                        && !resultSet.isNull(LEASE_EXPIRY_TIME) && resultSet.getTimestamp(LEASE_EXPIRY_TIME).compareTo(now) > 0;
+                if (heldByOther) {
+                    return null;
+                }
+                OutboxCheckpoint checkpoint = new OutboxCheckpoint(resultSet.getTimestamp(COMMIT_TIME), resultSet.getString(EVENT_ID));
+                transaction.buffer(Mutation.newUpdateBuilder(OUTBOX_CHECKPOINT)
+                        .set(SINK).to(sink)
+                        .set(SHARD_ID).to(shardId)
+                        .set(OWNER).to(owner)
+                        .set(LEASE_EXPIRY_TIME).to(leaseExpiryTime)
+                        .build());
+                return checkpoint;
+            }
+        });
+    }
+
+    // Moves the checkpoint and renews the lease, false when the lease was taken over by another instance
+    @Override
+    public boolean advanceCheckpoint(String sink, int shardId, String owner, OutboxCheckpoint checkpoint, long leaseMillis) {
+        Statement statement = Statement.newBuilder(ADVANCE_CHECKPOINT_SQL)
+                .bind("commitTime")
+                .to(checkpoint.getCommitTime())
+                .bind("eventId")
+                .to(checkpoint.getEventId())
+                .bind("leaseExpiryTime")
+                .to(leaseExpiry(leaseMillis))
+                .bind("sink")
+                .to(sink)
+                .bind("shardId")
+                .to(shardId)
+                .bind("owner")
+                .to(owner)
+                .build();
+        Long updated = databaseClient.readWriteTransaction().run(transaction -> transaction.executeUpdate(statement));
+        return updated != null && updated == 1;
+    }
+
+    private static Timestamp leaseExpiry(long leaseMillis) {
+        return Timestamp.ofTimeMicroseconds((System.currentTimeMillis() + leaseMillis) * 1000);
+    }
+
+    @Autowired
+    public void setDatabaseClient(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+}
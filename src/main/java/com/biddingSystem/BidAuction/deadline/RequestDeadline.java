@@ -0,0 +1,31 @@
+package com.biddingSystem.BidAuction.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+// End-to-end deadline of a single bid request, created once at the controller and handed down to every
+// Redis and Spanner call so no work continues after the client has given up.
+public final class RequestDeadline {
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(long timeoutMillis) {
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public void checkNotExpired(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + stage);
+        }
+    }
+}
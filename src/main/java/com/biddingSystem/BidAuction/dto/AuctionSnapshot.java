@@ -0,0 +1,58 @@
+package com.biddingSystem.BidAuction.dto;
+
+public class AuctionSnapshot {
+    private String auctionId;
+    private double basePrice;
+    private double maxBidPrice;
+    private double minIncrement;
+    private long expireAtInSeconds;
+    private String leaderEmail;
+
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    public void setAuctionId(String auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public double getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(double basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public double getMaxBidPrice() {
+        return maxBidPrice;
+    }
+
+    public void setMaxBidPrice(double maxBidPrice) {
+        this.maxBidPrice = maxBidPrice;
+    }
+
+    public double getMinIncrement() {
+        return minIncrement;
+    }
+
+    public void setMinIncrement(double minIncrement) {
+        this.minIncrement = minIncrement;
+    }
+
+    public long getExpireAtInSeconds() {
+        return expireAtInSeconds;
+    }
+
+    public void setExpireAtInSeconds(long expireAtInSeconds) {
+        this.expireAtInSeconds = expireAtInSeconds;
+    }
+
+    public String getLeaderEmail() {
+        return leaderEmail;
+    }
+
+    public void setLeaderEmail(String leaderEmail) {
+        this.leaderEmail = leaderEmail;
+    }
+}
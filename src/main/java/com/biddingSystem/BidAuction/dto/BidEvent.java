@@ -0,0 +1,60 @@
+package com.biddingSystem.BidAuction.dto;
+
+import com.google.cloud.Timestamp;
+
+public class BidEvent {
+    private String eventId;
+    private String auctionId;
+    private String userEmail;
+    private double bidPrice;
+    private Double previousMaxBidPrice;
+    private Timestamp commitTime;
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    public void setAuctionId(String auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public double getBidPrice() {
+        return bidPrice;
+    }
+
+    public void setBidPrice(double bidPrice) {
+        this.bidPrice = bidPrice;
+    }
+
+    public Double getPreviousMaxBidPrice() {
+        return previousMaxBidPrice;
+    }
+
+    public void setPreviousMaxBidPrice(Double previousMaxBidPrice) {
+        this.previousMaxBidPrice = previousMaxBidPrice;
+    }
+
+    public Timestamp getCommitTime() {
+        return commitTime;
+    }
+
+    public void setCommitTime(Timestamp commitTime) {
+        this.commitTime = commitTime;
+    }
+}
@@ -3,6 +3,9 @@ package com.biddingSystem.BidAuction.dto;
 public class BidResponse {
     private boolean bidPlaced;
     private long expireAtInSeconds;
+    private double basePrice;
+    private double minIncrement;
+    private int abortedAttempts;
     private String message;
 
     public boolean isBidPlaced() {
@@ -21,6 +24,30 @@ public class BidResponse {
         this.expireAtInSeconds = expireAtInSeconds;
     }
 
+    public double getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(double basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public double getMinIncrement() {
+        return minIncrement;
+    }
+
+    public void setMinIncrement(double minIncrement) {
+        this.minIncrement = minIncrement;
+    }
+
+    public int getAbortedAttempts() {
+        return abortedAttempts;
+    }
+
+    public void setAbortedAttempts(int abortedAttempts) {
+        this.abortedAttempts = abortedAttempts;
+    }
+
     public String getMessage() {
         return message;
     }
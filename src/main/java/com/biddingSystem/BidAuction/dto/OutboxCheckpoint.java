@@ -0,0 +1,33 @@
+package com.biddingSystem.BidAuction.dto;
+
+import com.google.cloud.Timestamp;
+
+// Position of a sink in one outbox shard: the last delivered event in (COMMIT_TIME, EVENT_ID) order.
+public class OutboxCheckpoint {
+    private Timestamp commitTime;
+    private String eventId;
+
+    public OutboxCheckpoint() {
+    }
+
+    public OutboxCheckpoint(Timestamp commitTime, String eventId) {
+        this.commitTime = commitTime;
+        this.eventId = eventId;
+    }
+
+    public Timestamp getCommitTime() {
+        return commitTime;
+    }
+
+    public void setCommitTime(Timestamp commitTime) {
+        this.commitTime = commitTime;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+}
@@ -0,0 +1,55 @@
+package com.biddingSystem.BidAuction.dto;
+
+import java.util.Map;
+
+// Envelope of a Pub/Sub push delivery
+public class PubSubPushRequest {
+    private Message message;
+    private String subscription;
+
+    public Message getMessage() {
+        return message;
+    }
+
+    public void setMessage(Message message) {
+        this.message = message;
+    }
+
+    public String getSubscription() {
+        return subscription;
+    }
+
+    public void setSubscription(String subscription) {
+        this.subscription = subscription;
+    }
+
+    public static class Message {
+        private Map<String, String> attributes;
+        private String data;
+        private String messageId;
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+
+        public String getData() {
+            return data;
+        }
+
+        public void setData(String data) {
+            this.data = data;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public void setMessageId(String messageId) {
+            this.messageId = messageId;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed size frequency sketch, estimates never under count and over count by at most
+// (total / width) with high probability. Safe for concurrent updates without locking. Every row hashes the
+// key characters with its own seed, so keys colliding in one row are unlikely to collide in the others.
+class CountMinSketch {
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xBF58476D1CE4E5B9L, 0x94D049BB133111EBL, 0xD6E8FEB86659FD93L};
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int width;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width) {
+        // Power of two so the column is a mask instead of a modulo
+        this.width = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    long add(String key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            long value = counters.addAndGet(index(row, key), count);
+            estimate = Math.min(estimate, value);
+        }
+        return estimate;
+    }
+
+    long estimate(String key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int index(int row, String key) {
+        return row * width + (int) (hash(key, SEEDS[row]) & (width - 1));
+    }
+
+    // Seeded 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 avalanche
+    private static long hash(String key, long seed) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
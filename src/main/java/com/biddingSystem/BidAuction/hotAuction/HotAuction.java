@@ -0,0 +1,25 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+public class HotAuction {
+    private final String auctionId;
+    private final long bidsPerWindow;
+    private final long abortsPerWindow;
+
+    public HotAuction(String auctionId, long bidsPerWindow, long abortsPerWindow) {
+        this.auctionId = auctionId;
+        this.bidsPerWindow = bidsPerWindow;
+        this.abortsPerWindow = abortsPerWindow;
+    }
+
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    public long getBidsPerWindow() {
+        return bidsPerWindow;
+    }
+
+    public long getAbortsPerWindow() {
+        return abortsPerWindow;
+    }
+}
@@ -0,0 +1,149 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Streaming detector for contended auctions. Bid and Spanner abort counts are kept in count-min sketches
+// over two tumbling windows, blended into a sliding window estimate; auctions crossing either threshold
+// enter a bounded top-K hot set that the bid path consults with a single hash lookup.
+@Component
+public class HotAuctionDetector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HotAuctionDetector.class);
+    private static final int SKETCH_WIDTH = 4096;
+
+    @Value("${hot.auction.window.ms}")
+    private long windowMs;
+
+    @Value("${hot.auction.bid.threshold}")
+    private long bidThreshold;
+
+    @Value("${hot.auction.abort.threshold}")
+    private long abortThreshold;
+
+    @Value("${hot.auction.top.k}")
+    private int topK;
+
+    private final CountMinSketch[] bidSketches = {new CountMinSketch(SKETCH_WIDTH), new CountMinSketch(SKETCH_WIDTH)};
+    private final CountMinSketch[] abortSketches = {new CountMinSketch(SKETCH_WIDTH), new CountMinSketch(SKETCH_WIDTH)};
+    private final Set<String> hotAuctions = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<String>> cooledListeners = new CopyOnWriteArrayList<>();
+    private volatile int current;
+    private volatile long windowStartMillis = System.currentTimeMillis();
+
+    public void recordBid(String auctionId) {
+        bidSketches[current].add(auctionId, 1);
+        considerHot(auctionId);
+    }
+
+    public void recordAborts(String auctionId, int aborts) {
+        if (aborts > 0) {
+            abortSketches[current].add(auctionId, aborts);
+            considerHot(auctionId);
+        }
+    }
+
+    public boolean isHot(String auctionId) {
+        return hotAuctions.contains(auctionId);
+    }
+
+    // Called with every auction that leaves the hot set, cooled down or evicted by a hotter one
+    public void addCooledListener(Consumer<String> listener) {
+        cooledListeners.add(listener);
+    }
+
+    public List<HotAuction> getHotAuctions() {
+        List<HotAuction> snapshot = new ArrayList<>();
+        for (String auctionId : hotAuctions) {
+            snapshot.add(new HotAuction(auctionId, slidingEstimate(bidSketches, auctionId), slidingEstimate(abortSketches, auctionId)));
+        }
+        return snapshot;
+    }
+
+    // Starts a new window: the older sketch is cleared and becomes current, auctions that cooled
+    // below half of both thresholds leave the hot set.
+    @Scheduled(fixedRateString = "${hot.auction.window.ms}")
+    public void rotateWindow() {
+        int next = 1 - current;
+        bidSketches[next].clear();
+        abortSketches[next].clear();
+        current = next;
+        windowStartMillis = System.currentTimeMillis();
+
+        for (String auctionId : hotAuctions) {
+            boolean cooled = slidingEstimate(bidSketches, auctionId) < bidThreshold / 2
+                    && slidingEstimate(abortSketches, auctionId) < abortThreshold / 2;
+            if (cooled && hotAuctions.remove(auctionId)) {
+                LOGGER.info("Auction {} is no longer hot", auctionId);
+                notifyCooled(auctionId);
+            }
+        }
+    }
+
+    public void setThresholds(long windowMs, long bidThreshold, long abortThreshold, int topK) {
+        this.windowMs = windowMs;
+        this.bidThreshold = bidThreshold;
+        this.abortThreshold = abortThreshold;
+        this.topK = topK;
+    }
+
+    private void considerHot(String auctionId) {
+        if (hotAuctions.contains(auctionId) || !isAboveThreshold(auctionId)) {
+            return;
+        }
+        synchronized (hotAuctions) {
+            if (hotAuctions.size() >= topK) {
+                String coldest = null;
+                long coldestScore = Long.MAX_VALUE;
+                for (String candidate : hotAuctions) {
+                    long score = score(candidate);
+                    if (score < coldestScore) {
+                        coldest = candidate;
+                        coldestScore = score;
+                    }
+                }
+                if (coldest == null || coldestScore >= score(auctionId)) {
+                    return;
+                }
+                hotAuctions.remove(coldest);
+                notifyCooled(coldest);
+            }
+            if (hotAuctions.add(auctionId)) {
+                LOGGER.info("Auction {} is hot, switching to contended bid strategy", auctionId);
+            }
+        }
+    }
+
+    private void notifyCooled(String auctionId) {
+        for (Consumer<String> listener : cooledListeners) {
+            listener.accept(auctionId);
+        }
+    }
+
+    private boolean isAboveThreshold(String auctionId) {
+        return slidingEstimate(bidSketches, auctionId) >= bidThreshold
+                || slidingEstimate(abortSketches, auctionId) >= abortThreshold;
+    }
+
+    // Aborts are weighted so an auction that keeps aborting outranks one that is merely busy
+    private long score(String auctionId) {
+        return slidingEstimate(bidSketches, auctionId) * abortThreshold
+                + slidingEstimate(abortSketches, auctionId) * bidThreshold;
+    }
+
+    private long slidingEstimate(CountMinSketch[] sketches, String auctionId) {
+        int currentIndex = current;
+        double elapsed = Math.min(1.0, (System.currentTimeMillis() - windowStartMillis) / (double) windowMs);
+        return sketches[currentIndex].estimate(auctionId)
+                + Math.round(sketches[1 - currentIndex].estimate(auctionId) * (1.0 - elapsed));
+    }
+}
@@ -0,0 +1,26 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/hotauctions
+@Component
+@Endpoint(id = "hotauctions")
+public class HotAuctionEndpoint {
+
+    private HotAuctionDetector hotAuctionDetector;
+
+    @ReadOperation
+    public List<HotAuction> hotAuctions() {
+        return hotAuctionDetector.getHotAuctions();
+    }
+
+    @Autowired
+    public void setHotAuctionDetector(HotAuctionDetector hotAuctionDetector) {
+        this.hotAuctionDetector = hotAuctionDetector;
+    }
+}
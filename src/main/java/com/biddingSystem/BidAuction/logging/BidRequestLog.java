@@ -0,0 +1,71 @@
+package com.biddingSystem.BidAuction.logging;
+
+import java.util.concurrent.TimeUnit;
+
+// Per request record of the bid path: stage timings, strategy and transaction aborts, emitted as one
+// structured line by BidRequestLogger instead of a log line per step. Bound to the request thread, the
+// static recorders are no-ops when no request is active.
+public final class BidRequestLog {
+    private static final ThreadLocal<BidRequestLog> CURRENT = new ThreadLocal<>();
+
+    public enum Stage {
+        AUTH, CACHE_GATE, HOT_AUCTION_WAIT, SPANNER, CACHE_WRITE
+    }
+
+    private final String auctionId;
+    private final long startNanos = System.nanoTime();
+    private final long[] stageNanos = new long[Stage.values().length];
+    private String strategy = "cold";
+    private int abortedAttempts;
+
+    private BidRequestLog(String auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public static BidRequestLog start(String auctionId) {
+        BidRequestLog requestLog = new BidRequestLog(auctionId);
+        CURRENT.set(requestLog);
+        return requestLog;
+    }
+
+    public static void recordStage(Stage stage, long stageStartNanos) {
+        BidRequestLog requestLog = CURRENT.get();
+        if (requestLog != null) {
+            requestLog.stageNanos[stage.ordinal()] += System.nanoTime() - stageStartNanos;
+        }
+    }
+
+    public static void recordStrategy(String strategy) {
+        BidRequestLog requestLog = CURRENT.get();
+        if (requestLog != null) {
+            requestLog.strategy = strategy;
+        }
+    }
+
+    public static void recordAbortedAttempts(int abortedAttempts) {
+        BidRequestLog requestLog = CURRENT.get();
+        if (requestLog != null) {
+            requestLog.abortedAttempts += abortedAttempts;
+        }
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    String format(int status, String outcome) {
+        StringBuilder line = new StringBuilder(256)
+                .append("bid auctionId=").append(auctionId)
+                .append(" status=").append(status)
+                .append(" strategy=").append(strategy)
+                .append(" aborts=").append(abortedAttempts)
+                .append(" totalUs=").append(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos > 0) {
+                line.append(' ').append(stage.name().toLowerCase()).append("Us=").append(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+        return line.append(" outcome=\"").append(outcome).append('"').toString();
+    }
+}
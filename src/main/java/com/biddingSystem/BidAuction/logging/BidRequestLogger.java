@@ -0,0 +1,35 @@
+package com.biddingSystem.BidAuction.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Emits the bid request event. Server errors are always logged, and so are rejected tokens, at WARN, since
+// a burst of them is what a credential stuffing attempt or a revoked session looks like. Everything else
+// is sampled at bid.log.success.sample.rate, and the line is only formatted once it is known to be written.
+@Component
+public class BidRequestLogger {
+    private static final Logger LOGGER = LoggerFactory.getLogger("bidRequest");
+
+    @Value("${bid.log.success.sample.rate}")
+    private double successSampleRate;
+
+    public void finish(BidRequestLog requestLog, int status, String outcome) {
+        requestLog.end();
+        if (status >= 500) {
+            LOGGER.error(requestLog.format(status, outcome));
+        } else if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value()) {
+            LOGGER.warn(requestLog.format(status, outcome));
+        } else if (LOGGER.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < successSampleRate) {
+            LOGGER.info(requestLog.format(status, outcome));
+        }
+    }
+
+    public void setSuccessSampleRate(double successSampleRate) {
+        this.successSampleRate = successSampleRate;
+    }
+}
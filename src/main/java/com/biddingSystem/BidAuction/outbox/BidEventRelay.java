@@ -0,0 +1,148 @@
+package com.biddingSystem.BidAuction.outbox;
+
+import com.biddingSystem.BidAuction.dao.SpannerBidEventDAO;
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidEventDAOImpl;
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import com.biddingSystem.BidAuction.dto.OutboxCheckpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Publishes the BID_EVENT outbox to the configured sink, off the bid path. Each shard is read in commit
+// order from the sink's checkpoint, a page at a time, and the checkpoint moves only after the sink accepted
+// the page. Instances share the work through per shard leases stored with the checkpoint; a lease is
+// renewed whenever the checkpoint moves and at least every half lease while the shard is idle.
+@Component
+@ConditionalOnProperty(name = "bid.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class BidEventRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BidEventRelay.class);
+
+    @Value("${bid.outbox.relay.page.size}")
+    private int pageSize;
+
+    @Value("${bid.outbox.relay.lease.ms}")
+    private long leaseMillis;
+
+    @Value("${bid.outbox.relay.max.pages.per.run}")
+    private int maxPagesPerRun;
+
+    private final String owner = UUID.randomUUID().toString();
+    // Checkpoint of every shard this instance holds the lease on, null for the others
+    private final OutboxCheckpoint[] checkpoints = new OutboxCheckpoint[SpannerBidEventDAO.SHARDS];
+    private final long[] claimAtMillis = new long[SpannerBidEventDAO.SHARDS];
+    // Commit time of the oldest event of each shard the sink has not accepted yet, 0 once the shard is drained
+    private final AtomicLongArray oldestUnpublishedMillis = new AtomicLongArray(SpannerBidEventDAO.SHARDS);
+
+    private SpannerBidEventDAOImpl spannerBidEventDAO;
+    private BidEventSink bidEventSink;
+    private Counter published;
+    private Counter failures;
+
+    @Scheduled(fixedDelayString = "${bid.outbox.relay.interval.ms}")
+    public void relay() {
+        for (int shardId = 0; shardId < SpannerBidEventDAO.SHARDS; shardId++) {
+            try {
+                relayShard(shardId);
+            } catch (RuntimeException ex) {
+                // Checkpoint stays where it was, the same events are retried on the next run
+                failures.increment();
+                LOGGER.warn("Unable to relay bid events of shard {} to {}: {}", shardId, bidEventSink.name(), ex.getMessage());
+            }
+        }
+    }
+
+    private void relayShard(int shardId) {
+        long now = System.currentTimeMillis();
+        if (now >= claimAtMillis[shardId]) {
+            checkpoints[shardId] = spannerBidEventDAO.claimShard(bidEventSink.name(), shardId, owner, leaseMillis);
+            claimAtMillis[shardId] = now + leaseMillis / 2;
+        }
+        OutboxCheckpoint checkpoint = checkpoints[shardId];
+        if (checkpoint == null) {
+            // Lag of shards leased by other instances is reported by them
+            oldestUnpublishedMillis.set(shardId, 0);
+            return;
+        }
+
+        for (int page = 0; page < maxPagesPerRun; page++) {
+            List<BidEvent> events = spannerBidEventDAO.readBidEvents(shardId, checkpoint, pageSize);
+            if (events.isEmpty()) {
+                oldestUnpublishedMillis.set(shardId, 0);
+                return;
+            }
+            // Kept if the publish fails, so the lag keeps growing while the sink is down
+            oldestUnpublishedMillis.set(shardId, commitMillis(events.get(0)));
+            bidEventSink.publish(events);
+
+            BidEvent lastEvent = events.get(events.size() - 1);
+            checkpoint = new OutboxCheckpoint(lastEvent.getCommitTime(), lastEvent.getEventId());
+            long advancedAt = System.currentTimeMillis();
+            if (!spannerBidEventDAO.advanceCheckpoint(bidEventSink.name(), shardId, owner, checkpoint, leaseMillis)) {
+                LOGGER.info("Lease on bid event shard {} was taken over, stopping relay of it", shardId);
+                checkpoints[shardId] = null;
+                oldestUnpublishedMillis.set(shardId, 0);
+                return;
+            }
+            checkpoints[shardId] = checkpoint;
+            claimAtMillis[shardId] = advancedAt + leaseMillis / 2;
+            published.increment(events.size());
+            if (events.size() < pageSize) {
+                oldestUnpublishedMillis.set(shardId, 0);
+                return;
+            }
+            // Older than anything still unread, refined by the next page
+            oldestUnpublishedMillis.set(shardId, commitMillis(lastEvent));
+        }
+    }
+
+    // Age of the oldest event not yet accepted by the sink across the shards held here, 0 when all are drained
+    long lagMillis() {
+        long now = System.currentTimeMillis();
+        long lag = 0;
+        for (int shardId = 0; shardId < SpannerBidEventDAO.SHARDS; shardId++) {
+            long oldest = oldestUnpublishedMillis.get(shardId);
+            if (oldest > 0) {
+                lag = Math.max(lag, now - oldest);
+            }
+        }
+        return lag;
+    }
+
+    private static long commitMillis(BidEvent event) {
+        return event.getCommitTime().toSqlTimestamp().getTime();
+    }
+
+    public void setRelaySettings(int pageSize, long leaseMillis, int maxPagesPerRun) {
+        this.pageSize = pageSize;
+        this.leaseMillis = leaseMillis;
+        this.maxPagesPerRun = maxPagesPerRun;
+    }
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.published = Counter.builder("bid.outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("bid.outbox.failures").register(meterRegistry);
+        Gauge.builder("bid.outbox.lag.ms", this, BidEventRelay::lagMillis).register(meterRegistry);
+    }
+
+    @Autowired
+    public void setSpannerBidEventDAO(SpannerBidEventDAOImpl spannerBidEventDAO) {
+        this.spannerBidEventDAO = spannerBidEventDAO;
+    }
+
+    @Autowired
+    public void setBidEventSink(BidEventSink bidEventSink) {
+        this.bidEventSink = bidEventSink;
+    }
+}
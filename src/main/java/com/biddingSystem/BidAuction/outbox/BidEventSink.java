@@ -0,0 +1,31 @@
+package com.biddingSystem.BidAuction.outbox;
+
+import com.biddingSystem.BidAuction.dto.BidEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Downstream target of the outbox relay. Delivery is at least once: a batch that fails, or whose checkpoint
+// could not be saved, is published again, so consumers deduplicate on eventId.
+public interface BidEventSink {
+
+    // Key of the sink's delivery checkpoints, changing it replays the outbox from the oldest event
+    String name();
+
+    // Publishes the batch in order, throwing when any event was not accepted
+    void publish(List<BidEvent> events);
+
+    static Map<String, String> fields(BidEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("eventId", event.getEventId());
+        fields.put("auctionId", event.getAuctionId());
+        fields.put("userEmail", event.getUserEmail());
+        fields.put("bidPrice", String.valueOf(event.getBidPrice()));
+        if (event.getPreviousMaxBidPrice() != null) {
+            fields.put("previousMaxBidPrice", String.valueOf(event.getPreviousMaxBidPrice()));
+        }
+        fields.put("commitTime", event.getCommitTime().toString());
+        return fields;
+    }
+}
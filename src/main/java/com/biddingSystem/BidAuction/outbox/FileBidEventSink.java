@@ -0,0 +1,44 @@
+package com.biddingSystem.BidAuction.outbox;
+
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends events as JSON lines to a local file, for running without a downstream system.
+@Component
+@ConditionalOnProperty(name = "bid.outbox.sink", havingValue = "file")
+public class FileBidEventSink implements BidEventSink {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${bid.outbox.file.path:bid-events.jsonl}")
+    private String filePath;
+
+    @Override
+    public String name() {
+        return "file:" + Path.of(filePath).getFileName();
+    }
+
+    @Override
+    public synchronized void publish(List<BidEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(filePath), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (BidEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(BidEventSink.fields(event)));
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to append bid events to " + filePath, ex);
+        }
+    }
+}
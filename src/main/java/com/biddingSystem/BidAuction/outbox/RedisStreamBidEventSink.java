@@ -0,0 +1,61 @@
+package com.biddingSystem.BidAuction.outbox;
+
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.params.XAddParams;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends each batch to a Redis stream with one pipelined round trip. Every consumer reads the stream
+// through its own consumer group, so adding one touches neither the relay nor the bid path.
+@Component
+@ConditionalOnProperty(name = "bid.outbox.sink", havingValue = "redis", matchIfMissing = true)
+public class RedisStreamBidEventSink implements BidEventSink {
+
+    @Value("${bid.outbox.stream.key}")
+    private String streamKey;
+
+    // Approximate cap, trimming whole macro nodes keeps XADD cheap
+    @Value("${bid.outbox.stream.max.length}")
+    private long maxLength;
+
+    private JedisPool jedisWrite;
+
+    @Override
+    public String name() {
+        return "redis:" + streamKey;
+    }
+
+    @Override
+    public void publish(List<BidEvent> events) {
+        XAddParams params = XAddParams.xAddParams().maxLen(maxLength).approximateTrimming();
+        try (Jedis jedis = jedisWrite.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<StreamEntryID>> responses = new ArrayList<>(events.size());
+            for (BidEvent event : events) {
+                responses.add(pipeline.xadd(streamKey, params, BidEventSink.fields(event)));
+            }
+            pipeline.sync();
+            for (Response<StreamEntryID> response : responses) {
+                // Rethrows the error of a rejected XADD
+                response.get();
+            }
+        }
+    }
+
+    @Autowired
+    @Qualifier("writeCache")
+    public void setJedisWrite(JedisPool jedisWrite) {
+        this.jedisWrite = jedisWrite;
+    }
+}
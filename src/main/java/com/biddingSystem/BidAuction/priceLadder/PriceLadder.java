@@ -0,0 +1,27 @@
+package com.biddingSystem.BidAuction.priceLadder;
+
+import java.util.Locale;
+
+// Minimum increment rule applied by the cache gate and again by the Spanner pre-checks. Once an auction
+// has a max bid, the next one must reach max bid plus the auction's MIN_INCREMENT. Auctions without an
+// increment keep the old rule where any higher bid wins, which in cents is a step of one. The first
+// bid only has to reach the base price. All amounts are in cents so both checks round the same way.
+public final class PriceLadder {
+    public static final long MIN_STEP_CENTS = 1;
+
+    private PriceLadder() {
+    }
+
+    public static long minimumNextBidCents(long maxBidCents, long minIncrementCents) {
+        return maxBidCents + Math.max(MIN_STEP_CENTS, minIncrementCents);
+    }
+
+    public static boolean isBelowIncrement(long bidPriceCents, long maxBidCents, long minIncrementCents) {
+        return bidPriceCents < minimumNextBidCents(maxBidCents, minIncrementCents);
+    }
+
+    public static String belowIncrementMessage(long maxBidCents, long minIncrementCents) {
+        return String.format(Locale.ROOT, "Bid Price should be at least %.2f, current max bid plus the minimum increment. Re-shop auction and place bid again",
+                minimumNextBidCents(maxBidCents, minIncrementCents) / 100.0);
+    }
+}
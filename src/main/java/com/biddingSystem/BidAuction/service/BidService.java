@@ -1,5 +1,7 @@
 package com.biddingSystem.BidAuction.service;
 
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+
 public interface BidService {
-    String placeBid(String auctionId, double bidPrice, String userEmail);
+    String placeBid(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline);
 }
@@ -1,54 +1,191 @@
 package com.biddingSystem.BidAuction.service.impl;
 
+import com.biddingSystem.BidAuction.cache.AuctionStateCodec;
+import com.biddingSystem.BidAuction.cache.AuctionStateWriter;
+import com.biddingSystem.BidAuction.cache.RedisReadRouter;
 import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
 import com.biddingSystem.BidAuction.dto.BidResponse;
+import com.biddingSystem.BidAuction.hotAuction.HotAuctionDetector;
+import com.biddingSystem.BidAuction.logging.BidRequestLog;
+import com.biddingSystem.BidAuction.priceLadder.PriceLadder;
 import com.biddingSystem.BidAuction.service.BidService;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class BidServiceImpl implements BidService {
     private static final Logger LOGGER = LoggerFactory.getLogger(BidServiceImpl.class);
+    private static final String AUCTION_COMPLETED = "Auction Completed, Bid can't be placed.";
+    private static final String BASE_PRICE_HIGHER = "Bid Price should be greater then Base Price.";
+    private static final String MAX_BID_HIGHER = "User bid price is lesser then current max bid, Re-shop auction and place bid again";
+
+    @Value("${redis.read.primary.window.seconds}")
+    private long primaryReadWindowSeconds;
 
     private SpannerBidDAOImpl spannerBidDAO;
-    private Jedis jedisWrite;
-    private Jedis jedisRead;
+    private AuctionStateWriter auctionStateWriter;
+    private RedisReadRouter redisReadRouter;
+    private HotAuctionDetector hotAuctionDetector;
+
+    // Serialises Spanner transactions of each hot auction inside this instance. One lock per auction, so
+    // hot auctions never queue behind each other; bounded by the hot set, entries go when an auction cools.
+    private final ConcurrentHashMap<String, ReentrantLock> hotAuctionLocks = new ConcurrentHashMap<>();
+
     @Override
-    public String placeBid(String auctionId, double bidPrice, String userEmail) {
-        LOGGER.info("Placing bid for auctionId: {}, by user: {}", auctionId, userEmail);
-        String cacheValue = jedisRead.get(auctionId);
-        if (StringUtils.isNotEmpty(cacheValue)) {
-            LOGGER.info("Checking in Cache if we already have a bid higher then the bid price.");
-            double maxBidPrice = Double.parseDouble(cacheValue);
-            if (maxBidPrice >= bidPrice) {
-                return "User bid price is lesser then current max bid, Re-shop auction and place bid again";
+    public String placeBid(String auctionId, double bidPrice, String userEmail, RequestDeadline deadline) {
+        LOGGER.debug("Placing bid for auctionId: {}, by user: {}", auctionId, userEmail);
+        hotAuctionDetector.recordBid(auctionId);
+        byte[] auctionKey = SafeEncoder.encode(auctionId);
+        long bidPriceCents = AuctionStateCodec.toCents(bidPrice);
+
+        if (hotAuctionDetector.isHot(auctionId)) {
+            BidRequestLog.recordStrategy("hot");
+            return placeHotAuctionBid(auctionId, auctionKey, bidPrice, bidPriceCents, userEmail, deadline);
+        }
+
+        String preCheckFailedMessage = cacheGate(auctionKey, bidPriceCents, false, deadline);
+        if (preCheckFailedMessage != null) {
+            return preCheckFailedMessage;
+        }
+        return placeBidInSpanner(auctionId, auctionKey, bidPrice, userEmail, deadline);
+    }
+
+    // Hot auctions: gate on the primary only, then let one bid at a time per auction through to Spanner.
+    // Bids that queued behind a winner are re-gated against the state it just wrote and rejected without
+    // a transaction, instead of all of them contending for the same rows and aborting each other.
+    private String placeHotAuctionBid(String auctionId, byte[] auctionKey, double bidPrice, long bidPriceCents,
+                                      String userEmail, RequestDeadline deadline) {
+        String preCheckFailedMessage = cacheGate(auctionKey, bidPriceCents, true, deadline);
+        if (preCheckFailedMessage != null) {
+            return preCheckFailedMessage;
+        }
+
+        ReentrantLock lock = hotAuctionLocks.computeIfAbsent(auctionId, id -> new ReentrantLock());
+        long waitStart = System.nanoTime();
+        try {
+            if (!lock.tryLock(deadline.remainingMillis(), TimeUnit.MILLISECONDS)) {
+                throw new DeadlineExceededException("Request deadline exceeded while waiting for hot auction " + auctionId);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while waiting for hot auction " + auctionId, ex);
+        } finally {
+            BidRequestLog.recordStage(BidRequestLog.Stage.HOT_AUCTION_WAIT, waitStart);
+        }
+        try {
+            preCheckFailedMessage = cacheGate(auctionKey, bidPriceCents, true, deadline);
+            if (preCheckFailedMessage != null) {
+                return preCheckFailedMessage;
+            }
+            return placeBidInSpanner(auctionId, auctionKey, bidPrice, userEmail, deadline);
+        } finally {
+            lock.unlock();
+            // The auction may have cooled while this bid was queued
+            if (!hotAuctionDetector.isHot(auctionId)) {
+                releaseHotAuctionLock(auctionId);
             }
         }
+    }
+
+    // Drops the lock once nobody holds or waits for it. A bid that fetched it just before may end up on a
+    // new lock and run next to one other bid, which Spanner still orders correctly.
+    private void releaseHotAuctionLock(String auctionId) {
+        hotAuctionLocks.computeIfPresent(auctionId, (id, lock) -> lock.isLocked() || lock.hasQueuedThreads() ? lock : null);
+    }
+
+    private String cacheGate(byte[] auctionKey, long bidPriceCents, boolean primaryOnly, RequestDeadline deadline) {
+        long gateStart = System.nanoTime();
+        try {
+            return applyCacheGate(auctionKey, bidPriceCents, primaryOnly, deadline);
+        } finally {
+            BidRequestLog.recordStage(BidRequestLog.Stage.CACHE_GATE, gateStart);
+        }
+    }
+
+    private String applyCacheGate(byte[] auctionKey, long bidPriceCents, boolean primaryOnly, RequestDeadline deadline) {
+        byte[] cachedState = primaryOnly ? redisReadRouter.getFromPrimary(auctionKey, deadline) : redisReadRouter.get(auctionKey, deadline);
+        if (!primaryOnly && AuctionStateCodec.isValid(cachedState)
+                && AuctionStateCodec.expireAtSeconds(cachedState) - System.currentTimeMillis() / 1000 <= primaryReadWindowSeconds) {
+            // Auction is about to close and bids race, a lagging replica would let stale bids through to Spanner.
+            cachedState = redisReadRouter.getFromPrimary(auctionKey, deadline);
+        }
+        if (AuctionStateCodec.isValid(cachedState)) {
+            LOGGER.debug("Applying pre-checks on cached auction state.");
+            return cachePreChecks(cachedState, bidPriceCents);
+        }
+        return null;
+    }
 
-        BidResponse bidResponse = spannerBidDAO.placeBid(auctionId, bidPrice, userEmail);
+    private String placeBidInSpanner(String auctionId, byte[] auctionKey, double bidPrice, String userEmail, RequestDeadline deadline) {
+        long spannerStart = System.nanoTime();
+        BidResponse bidResponse = spannerBidDAO.placeBid(auctionId, bidPrice, userEmail, deadline);
+        BidRequestLog.recordStage(BidRequestLog.Stage.SPANNER, spannerStart);
+        BidRequestLog.recordAbortedAttempts(bidResponse.getAbortedAttempts());
+        hotAuctionDetector.recordAborts(auctionId, bidResponse.getAbortedAttempts());
         if (bidResponse.isBidPlaced()) {
-            LOGGER.info("Writing the bidPrice {} as new max bid for auction {} in cache.", bidPrice, auctionId);
-            jedisWrite.set(auctionId, String.valueOf(bidPrice), SetParams.setParams().exAt(bidResponse.getExpireAtInSeconds()));
+            LOGGER.debug("Writing the bidPrice {} as new max bid for auction {} in cache.", bidPrice, auctionId);
+            long cacheWriteStart = System.nanoTime();
+            byte[] newState = AuctionStateCodec.encode(AuctionStateCodec.toCents(bidPrice),
+                    AuctionStateCodec.toCents(bidResponse.getBasePrice()), bidResponse.getExpireAtInSeconds(),
+                    AuctionStateCodec.userFingerprint(userEmail), AuctionStateCodec.toCents(bidResponse.getMinIncrement()));
+            auctionStateWriter.setIfGreater(auctionKey, newState, bidResponse.getExpireAtInSeconds());
+            BidRequestLog.recordStage(BidRequestLog.Stage.CACHE_WRITE, cacheWriteStart);
         }
         return bidResponse.getMessage();
     }
 
+    // Same rejections as the Spanner pre-checks, decided from the packed cache record alone.
+    private String cachePreChecks(byte[] cachedState, long bidPriceCents) {
+        if (AuctionStateCodec.expireAtSeconds(cachedState) <= System.currentTimeMillis() / 1000) {
+            return AUCTION_COMPLETED;
+        }
+
+        if (AuctionStateCodec.basePriceCents(cachedState) > bidPriceCents) {
+            return BASE_PRICE_HIGHER;
+        }
+
+        long maxBidCents = AuctionStateCodec.priceCents(cachedState);
+        if (maxBidCents >= bidPriceCents) {
+            return MAX_BID_HIGHER;
+        }
+
+        // Outbidding by less than the auction's increment would only start another round of counter bids
+        long minIncrementCents = AuctionStateCodec.minIncrementCents(cachedState);
+        if (PriceLadder.isBelowIncrement(bidPriceCents, maxBidCents, minIncrementCents)) {
+            return PriceLadder.belowIncrementMessage(maxBidCents, minIncrementCents);
+        }
+
+        return null;
+    }
+
     @Autowired
-    @Qualifier("writeCache")
-    public void setJedisWrite(Jedis jedisWrite) {
-        this.jedisWrite = jedisWrite;
+    public void setAuctionStateWriter(AuctionStateWriter auctionStateWriter) {
+        this.auctionStateWriter = auctionStateWriter;
+    }
+
+    @Autowired
+    public void setRedisReadRouter(RedisReadRouter redisReadRouter) {
+        this.redisReadRouter = redisReadRouter;
+    }
+
+    public void setPrimaryReadWindowSeconds(long primaryReadWindowSeconds) {
+        this.primaryReadWindowSeconds = primaryReadWindowSeconds;
     }
 
     @Autowired
-    @Qualifier("readCache")
-    public void setJedisRead(Jedis jedisRead) {
-        this.jedisRead = jedisRead;
+    public void setHotAuctionDetector(HotAuctionDetector hotAuctionDetector) {
+        this.hotAuctionDetector = hotAuctionDetector;
+        hotAuctionDetector.addCooledListener(this::releaseHotAuctionLock);
     }
 
     @Autowired
@@ -0,0 +1,5 @@
+-- Per auction minimum bid increment, read by every bid transaction and by the cache reconciler.
+-- Must be applied before a service version that selects MIN_INCREMENT is deployed:
+--   gcloud spanner databases ddl update bidding_system --instance=biddingsystemdb \
+--       --project=biddingsystem-411900 --ddl-file=src/main/resources/db/spanner/V1__auction_min_increment.sql
+ALTER TABLE AUCTION ADD COLUMN MIN_INCREMENT FLOAT64;
@@ -0,0 +1,23 @@
+-- Transactional outbox of accepted bids and the relay checkpoints. BID_EVENT is written inside the bid
+-- transaction, so without it every bid fails. Must be applied before a service version with the outbox
+-- is deployed:
+--   gcloud spanner databases ddl update bidding_system --instance=biddingsystemdb \
+--       --project=biddingsystem-411900 --ddl-file=src/main/resources/db/spanner/V2__bid_event_outbox.sql
+CREATE TABLE BID_EVENT (
+    SHARD_ID INT64 NOT NULL,
+    COMMIT_TIME TIMESTAMP NOT NULL OPTIONS (allow_commit_timestamp = true),
+    EVENT_ID STRING(36) NOT NULL,
+    AUCTION_ID STRING(64) NOT NULL,
+    USER_EMAIL STRING(256) NOT NULL,
+    BID_PRICE FLOAT64 NOT NULL,
+    PREV_MAX_BID_PRICE FLOAT64
+) PRIMARY KEY (SHARD_ID, COMMIT_TIME, EVENT_ID);
+
+CREATE TABLE OUTBOX_CHECKPOINT (
+    SINK STRING(256) NOT NULL,
+    SHARD_ID INT64 NOT NULL,
+    COMMIT_TIME TIMESTAMP NOT NULL,
+    EVENT_ID STRING(36) NOT NULL,
+    OWNER STRING(64),
+    LEASE_EXPIRY_TIME TIMESTAMP
+) PRIMARY KEY (SINK, SHARD_ID);
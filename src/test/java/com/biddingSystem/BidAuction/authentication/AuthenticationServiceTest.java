@@ -0,0 +1,83 @@
+package com.biddingSystem.BidAuction.authentication;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Date;
+
+public class AuthenticationServiceTest {
+    private static final String SECRET = "december96";
+    private static final String USER = "arorapulkit2_gmail-com";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private TokenRevocationFilter tokenRevocationFilter;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        jwtTokenUtil.setSecret(SECRET);
+        tokenRevocationFilter = Mockito.mock(TokenRevocationFilter.class);
+        authenticationService = new AuthenticationService();
+        authenticationService.setJwtTokenUtil(jwtTokenUtil);
+        authenticationService.setTokenRevocationFilter(tokenRevocationFilter);
+    }
+
+    @Test
+    public void testValidToken() {
+        String token = jwtTokenUtil.generateToken(USER, 2);
+        Assertions.assertEquals(USER, authenticationService.getUserNameFromValidToken("Bearer " + token));
+        Assertions.assertNull(authenticationService.getUserNameFromValidToken(token));
+    }
+
+    @Test
+    public void testTamperedToken() {
+        String[] token = jwtTokenUtil.generateToken(USER, 0).split("\\.");
+        String[] otherUserToken = jwtTokenUtil.generateToken("mallory_gmail-com", 0).split("\\.");
+        String tampered = token[0] + "." + otherUserToken[1] + "." + token[2];
+
+        Assertions.assertNull(authenticationService.getUserNameFromValidToken("Bearer " + tampered));
+    }
+
+    @Test
+    public void testExpiredToken() {
+        String token = Jwts.builder()
+                .claim(JwtTokenUtil.TOKEN_VERSION, 0)
+                .setSubject(USER)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS512, SECRET).compact();
+
+        Assertions.assertNull(authenticationService.getUserNameFromValidToken("Bearer " + token));
+    }
+
+    @Test
+    public void testTokenWithoutVersion() {
+        String token = Jwts.builder()
+                .setSubject(USER)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS512, SECRET).compact();
+
+        Assertions.assertNull(authenticationService.getUserNameFromValidToken("Bearer " + token));
+    }
+
+    @Test
+    public void testRevokedTokenVersion() {
+        Mockito.when(tokenRevocationFilter.isRevoked(USER, 1)).thenReturn(true);
+
+        Assertions.assertNull(authenticationService.getUserNameFromValidToken("Bearer " + jwtTokenUtil.generateToken(USER, 1)));
+        Assertions.assertEquals(USER, authenticationService.getUserNameFromValidToken("Bearer " + jwtTokenUtil.generateToken(USER, 2)));
+    }
+
+    @Test
+    public void testSecretChangeRevokesTokens() {
+        Assertions.assertTrue(authenticationService.revokeOnSecretChange("SECRET_VERSION_ADD", "projects/biddingsystem-411900/secrets/" + USER));
+        Mockito.verify(tokenRevocationFilter).revokeAllTokens(USER);
+
+        Assertions.assertFalse(authenticationService.revokeOnSecretChange("SECRET_ROTATE", "projects/biddingsystem-411900/secrets/" + USER));
+        Mockito.verifyNoMoreInteractions(tokenRevocationFilter);
+    }
+}
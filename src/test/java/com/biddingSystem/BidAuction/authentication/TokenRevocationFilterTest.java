@@ -0,0 +1,103 @@
+package com.biddingSystem.BidAuction.authentication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TokenRevocationFilterTest {
+    private static final String TOKEN_VERSION_KEY = "auth:token-version";
+
+    private Jedis jedis;
+    private TokenRevocationFilter tokenRevocationFilter;
+    private final AtomicReference<JedisPubSub> subscribedListener = new AtomicReference<>();
+    private final CountDownLatch subscribed = new CountDownLatch(1);
+    private final CountDownLatch unsubscribe = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        JedisPool jedisPool = Mockito.mock(JedisPool.class);
+        jedis = Mockito.mock(Jedis.class);
+        Mockito.when(jedisPool.getResource()).thenReturn(jedis);
+        // Blocks like a real subscription until the test ends
+        Mockito.doAnswer(invocation -> {
+            subscribedListener.set(invocation.getArgument(0));
+            subscribed.countDown();
+            unsubscribe.await();
+            return null;
+        }).when(jedis).subscribe(Mockito.any(JedisPubSub.class), Mockito.eq("auth:revocations"));
+
+        tokenRevocationFilter = new TokenRevocationFilter();
+        tokenRevocationFilter.setExpectedRevokedUsers(1000);
+        tokenRevocationFilter.setJedisWrite(jedisPool);
+        tokenRevocationFilter.start();
+        // Stubbing below must not race the subscriber thread's call into the same mock
+        Assertions.assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tokenRevocationFilter.stop();
+        unsubscribe.countDown();
+    }
+
+    @Test
+    public void testRevokeAllTokens() {
+        Mockito.when(jedis.hincrBy(TOKEN_VERSION_KEY, "alice", 1)).thenReturn(3L);
+
+        Assertions.assertEquals(3, tokenRevocationFilter.revokeAllTokens("alice"));
+
+        Assertions.assertTrue(tokenRevocationFilter.isRevoked("alice", 2));
+        Assertions.assertFalse(tokenRevocationFilter.isRevoked("alice", 3));
+        Assertions.assertFalse(tokenRevocationFilter.isRevoked("bob", 0));
+        Mockito.verify(jedis).publish("auth:revocations", "alice");
+    }
+
+    @Test
+    public void testRevocationFromPubSubMessage() {
+        Mockito.when(jedis.hget(TOKEN_VERSION_KEY, "alice")).thenReturn("5");
+
+        subscribedListener.get().onMessage("auth:revocations", "alice");
+
+        Assertions.assertTrue(tokenRevocationFilter.isRevoked("alice", 4));
+        Assertions.assertFalse(tokenRevocationFilter.isRevoked("alice", 5));
+    }
+
+    @Test
+    public void testLoginAfterPasswordRotationRevokes() {
+        Mockito.when(jedis.hget("auth:secret-version", "alice")).thenReturn("versions/1");
+        Mockito.when(jedis.hincrBy(TOKEN_VERSION_KEY, "alice", 1)).thenReturn(1L);
+
+        Assertions.assertEquals(1, tokenRevocationFilter.tokenVersionForLogin("alice", "versions/2"));
+
+        Assertions.assertTrue(tokenRevocationFilter.isRevoked("alice", 0));
+        Mockito.verify(jedis).hset("auth:secret-version", "alice", "versions/2");
+    }
+
+    @Test
+    public void testSyncKeepsRevocationsReceivedDuringScan() {
+        Mockito.when(jedis.hincrBy(TOKEN_VERSION_KEY, "bob", 1)).thenReturn(1L);
+        Mockito.when(jedis.hscan(Mockito.eq(TOKEN_VERSION_KEY), Mockito.eq(ScanParams.SCAN_POINTER_START), Mockito.any(ScanParams.class)))
+                .thenAnswer(invocation -> {
+                    tokenRevocationFilter.revokeAllTokens("bob");
+                    return new ScanResult<>(ScanParams.SCAN_POINTER_START, List.of(Map.entry("alice", "2")));
+                });
+
+        tokenRevocationFilter.syncFromRedis();
+
+        Assertions.assertTrue(tokenRevocationFilter.isRevoked("alice", 1));
+        Assertions.assertTrue(tokenRevocationFilter.isRevoked("bob", 0));
+    }
+}
@@ -0,0 +1,38 @@
+package com.biddingSystem.BidAuction.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class AuctionStateCodecTest {
+
+    @Test
+    public void testEncodeDecode() {
+        long fingerprint = AuctionStateCodec.userFingerprint("arorapulkit2@gmail.com");
+        byte[] state = AuctionStateCodec.encode(150000, 140000, 1760000000L, fingerprint, 2500);
+
+        Assertions.assertTrue(AuctionStateCodec.isValid(state));
+        Assertions.assertEquals(150000, AuctionStateCodec.priceCents(state));
+        Assertions.assertEquals(140000, AuctionStateCodec.basePriceCents(state));
+        Assertions.assertEquals(1760000000L, AuctionStateCodec.expireAtSeconds(state));
+        Assertions.assertEquals(fingerprint, AuctionStateCodec.leaderFingerprint(state));
+        Assertions.assertEquals(2500, AuctionStateCodec.minIncrementCents(state));
+    }
+
+    @Test
+    public void testLegacyValueIsNotValid() {
+        Assertions.assertFalse(AuctionStateCodec.isValid(null));
+        Assertions.assertFalse(AuctionStateCodec.isValid("1500.0".getBytes(StandardCharsets.UTF_8)));
+
+        byte[] versionOne = new byte[33];
+        versionOne[0] = 1;
+        Assertions.assertFalse(AuctionStateCodec.isValid(versionOne));
+    }
+
+    @Test
+    public void testCentsConversion() {
+        Assertions.assertEquals(145001, AuctionStateCodec.toCents(1450.01));
+        Assertions.assertEquals(1450.01, AuctionStateCodec.fromCents(145001));
+    }
+}
@@ -0,0 +1,203 @@
+package com.biddingSystem.BidAuction.cache;
+
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class RedisReadRouterTest {
+    private static final byte[] KEY = "auction:1234".getBytes(StandardCharsets.UTF_8);
+    private static final String PRIMARY_INFO = "# Replication\r\nrole:master\r\nmaster_repl_offset:10000\r\n";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService hedgeExecutor = Executors.newCachedThreadPool();
+    private final Map<String, JedisPool> replicaPools = new LinkedHashMap<>();
+    private Jedis primary;
+
+    @BeforeEach
+    public void setUp() {
+        primary = mockJedis("primary");
+        Mockito.when(primary.info("replication")).thenReturn(PRIMARY_INFO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testReadsGoToLeastOutstandingReplica() throws Exception {
+        Jedis replicaA = mockJedis("a");
+        Jedis replicaB = mockJedis("b");
+        // The first read on a blocks until released, any later one would answer "a" straight away
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        Mockito.when(replicaA.get(Mockito.any(byte[].class))).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            return bytes("a");
+        }).thenReturn(bytes("a"));
+        RedisReadRouter router = router();
+
+        // Hedged to b once a is slower than its p95, a stays outstanding
+        CompletableFuture<byte[]> slowRead = CompletableFuture.supplyAsync(() -> router.get(KEY, RequestDeadline.after(5000)));
+        Assertions.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("b", string(slowRead.get(5, TimeUnit.SECONDS)));
+
+        Assertions.assertEquals("b", string(router.get(KEY, RequestDeadline.after(5000))));
+        release.countDown();
+        Mockito.verify(replicaB, Mockito.times(2)).get(KEY);
+    }
+
+    @Test
+    public void testSlowReadIsHedgedToSecondReplica() {
+        Jedis replicaA = mockJedis("a");
+        mockJedis("b");
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(replicaA.get(KEY)).thenAnswer(invocation -> {
+            release.await();
+            return bytes("a");
+        });
+        RedisReadRouter router = router();
+
+        // a answers once released, b's answer has already been returned
+        Assertions.assertEquals("b", string(router.get(KEY, RequestDeadline.after(5000))));
+        Assertions.assertEquals(1, hedgedReads());
+        release.countDown();
+    }
+
+    @Test
+    public void testHedgedReadFailingOnBothReplicasFallsBackToPrimary() {
+        Jedis replicaA = mockJedis("a");
+        Jedis replicaB = mockJedis("b");
+        Mockito.when(replicaA.get(KEY)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            throw new JedisConnectionException("Read timed out");
+        });
+        Mockito.when(replicaB.get(KEY)).thenThrow(new JedisConnectionException("Connection refused"));
+        RedisReadRouter router = router();
+
+        Assertions.assertEquals("primary", string(router.get(KEY, RequestDeadline.after(5000))));
+        Assertions.assertEquals(1, hedgedReads());
+    }
+
+    @Test
+    public void testHedgedReadIsBoundedByDeadline() {
+        Jedis replicaA = mockJedis("a");
+        Jedis replicaB = mockJedis("b");
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(replicaA.get(KEY)).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS) ? bytes("a") : null);
+        Mockito.when(replicaB.get(KEY)).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS) ? bytes("b") : null);
+        RedisReadRouter router = router();
+
+        long start = System.nanoTime();
+        Assertions.assertThrows(DeadlineExceededException.class, () -> router.get(KEY, RequestDeadline.after(100)));
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        release.countDown();
+        Mockito.verify(primary, Mockito.never()).get(KEY);
+    }
+
+    @Test
+    public void testLaggingReplicaIsEjectedAndReadmitted() {
+        Jedis replicaA = mockJedis("a");
+        Jedis replicaB = mockJedis("b");
+        Mockito.when(replicaA.info("replication"))
+                .thenReturn(replicaInfo("up", 9000))
+                .thenReturn(replicaInfo("up", 9990));
+        Mockito.when(replicaB.info("replication")).thenReturn(replicaInfo("up", 10000));
+        RedisReadRouter router = router();
+
+        router.checkReplicaLag();
+        Assertions.assertEquals(0, healthy("a"));
+        Assertions.assertEquals(1000, meterRegistry.get("redis.replica.lag.bytes").tag("replica", "a").gauge().value());
+        Assertions.assertEquals(1, healthy("b"));
+        Assertions.assertEquals("b", string(router.get(KEY, RequestDeadline.after(5000))));
+        Mockito.verify(replicaA, Mockito.never()).get(KEY);
+
+        router.checkReplicaLag();
+        Assertions.assertEquals(1, healthy("a"));
+        Assertions.assertEquals(10, meterRegistry.get("redis.replica.lag.bytes").tag("replica", "a").gauge().value());
+    }
+
+    @Test
+    public void testReplicaWithBrokenLinkIsEjected() {
+        Jedis replicaA = mockJedis("a");
+        Mockito.when(replicaA.info("replication")).thenReturn(replicaInfo("down", 10000));
+        RedisReadRouter router = router();
+
+        router.checkReplicaLag();
+        Assertions.assertEquals(0, healthy("a"));
+        Assertions.assertEquals("primary", string(router.get(KEY, RequestDeadline.after(5000))));
+    }
+
+    @Test
+    public void testFailedReplicaFallsBackToPrimary() {
+        Jedis replicaA = mockJedis("a");
+        Mockito.when(replicaA.get(KEY)).thenThrow(new JedisConnectionException("Connection refused"));
+        RedisReadRouter router = router();
+
+        Assertions.assertEquals("primary", string(router.get(KEY, RequestDeadline.after(5000))));
+        Assertions.assertEquals(0, healthy("a"));
+
+        // Stays on the primary until the lag check re-admits the replica
+        Assertions.assertEquals("primary", string(router.get(KEY, RequestDeadline.after(5000))));
+        Mockito.verify(replicaA, Mockito.times(1)).get(KEY);
+    }
+
+    private RedisReadRouter router() {
+        JedisPool primaryPool = Mockito.mock(JedisPool.class);
+        Mockito.when(primaryPool.getResource()).thenReturn(primary);
+        return new RedisReadRouter(primaryPool, replicaPools, meterRegistry, 100, hedgeExecutor);
+    }
+
+    // Answers every GET with its own name, registered as a replica unless it is the primary
+    private Jedis mockJedis(String name) {
+        Jedis jedis = Mockito.mock(Jedis.class);
+        Mockito.when(jedis.getConnection()).thenReturn(Mockito.mock(Connection.class));
+        Mockito.when(jedis.get(Mockito.any(byte[].class))).thenReturn(bytes(name));
+        if (!"primary".equals(name)) {
+            JedisPool pool = Mockito.mock(JedisPool.class);
+            Mockito.when(pool.getResource()).thenReturn(jedis);
+            replicaPools.put(name, pool);
+        }
+        return jedis;
+    }
+
+    private double hedgedReads() {
+        return meterRegistry.get("redis.read.hedged").counter().count();
+    }
+
+    private double healthy(String replica) {
+        return meterRegistry.get("redis.replica.healthy").tag("replica", replica).gauge().value();
+    }
+
+    private static String replicaInfo(String linkStatus, long offset) {
+        return "# Replication\r\nrole:slave\r\nmaster_link_status:" + linkStatus + "\r\nslave_repl_offset:" + offset + "\r\n";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.biddingSystem.BidAuction.controller;
+
+import com.biddingSystem.BidAuction.authentication.AuthenticationService;
+import com.biddingSystem.BidAuction.deadline.DeadlineExceededException;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.logging.BidRequestLogger;
+import com.biddingSystem.BidAuction.service.impl.BidServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+
+// Deadline handling of placeBid with the service mocked out, no Spanner or Redis needed
+public class BidControllerDeadlineTest {
+    private BidController bidController;
+    private BidServiceImpl bidService;
+
+    @BeforeEach
+    public void setUp() {
+        AuthenticationService authenticationService = Mockito.mock(AuthenticationService.class);
+        Mockito.when(authenticationService.getUserNameFromValidToken("token")).thenReturn("arorapulkit2_gmail-com");
+        bidService = Mockito.mock(BidServiceImpl.class);
+
+        bidController = new BidController();
+        bidController.setAuthenticationService(authenticationService);
+        bidController.setBidService(bidService);
+        bidController.setBidRequestLogger(new BidRequestLogger());
+        bidController.setDefaultRequestTimeoutMs(2000);
+    }
+
+    @Test
+    public void testDeadlineExceededMapsToGatewayTimeout() {
+        Mockito.when(bidService.placeBid(Mockito.eq("1234"), Mockito.eq(1500.00), Mockito.eq("arorapulkit2@gmail.com"),
+                Mockito.any(RequestDeadline.class))).thenThrow(new DeadlineExceededException("Request deadline exceeded before cache read"));
+
+        ResponseEntity<String> response = bidController.placeBid("1234", 1500.00, "token", null);
+        Assertions.assertEquals(504, response.getStatusCode().value());
+        Assertions.assertEquals("Request deadline exceeded before cache read", response.getBody());
+    }
+
+    @Test
+    public void testNonPositiveClientTimeoutIsRejected() {
+        // Rejected before authentication, a bad token with a bad header is still a client error and not a 504
+        Assertions.assertEquals(400, bidController.placeBid("1234", 1500.00, "token", 0L).getStatusCode().value());
+        Assertions.assertEquals(400, bidController.placeBid("1234", 1500.00, "bad-token", -5L).getStatusCode().value());
+        Mockito.verifyNoInteractions(bidService);
+    }
+
+    @Test
+    public void testClientTimeoutIsUsedWhenShorter() {
+        Assertions.assertTrue(deadlinePassedToService(100L).remainingMillis() <= 100);
+    }
+
+    @Test
+    public void testClientTimeoutIsCappedByDefault() {
+        long remaining = deadlinePassedToService(60000L).remainingMillis();
+        Assertions.assertTrue(remaining > 1000 && remaining <= 2000);
+    }
+
+    private RequestDeadline deadlinePassedToService(Long requestTimeoutMs) {
+        Mockito.when(bidService.placeBid(Mockito.anyString(), Mockito.anyDouble(), Mockito.anyString(),
+                Mockito.any(RequestDeadline.class))).thenReturn("Success, Bid Placed.");
+        Assertions.assertEquals(200, bidController.placeBid("1234", 1500.00, "token", requestTimeoutMs).getStatusCode().value());
+
+        ArgumentCaptor<RequestDeadline> deadline = ArgumentCaptor.forClass(RequestDeadline.class);
+        Mockito.verify(bidService).placeBid(Mockito.eq("1234"), Mockito.eq(1500.00), Mockito.eq("arorapulkit2@gmail.com"), deadline.capture());
+        return deadline.getValue();
+    }
+}
@@ -1,10 +1,16 @@
 package com.biddingSystem.BidAuction.controller;
 
 import com.biddingSystem.BidAuction.authentication.AuthenticationService;
+import com.biddingSystem.BidAuction.cache.AuctionStateWriter;
+import com.biddingSystem.BidAuction.cache.RedisReadRouter;
+import com.biddingSystem.BidAuction.deadline.RequestDeadline;
+import com.biddingSystem.BidAuction.hotAuction.HotAuctionDetector;
+import com.biddingSystem.BidAuction.logging.BidRequestLogger;
 import com.biddingSystem.BidAuction.dao.impl.SpannerBidDAOImpl;
 import com.biddingSystem.BidAuction.service.impl.BidServiceImpl;
 import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,12 +18,15 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.concurrent.Executors;
 
 public class BidControllerTest {
     private static final String DELETE_AUCTION_SQL = "DELETE FROM AUCTION WHERE AUCTION_ID = '1234'";
@@ -26,6 +35,7 @@ public class BidControllerTest {
     private static final String READ_SQL = "SELECT COUNT(BID_ID) AS CNT FROM BID " +
             "WHERE AUCTION_ID = '1234' AND C_USER_ID = (SELECT C_USER_ID FROM C_USER WHERE EMAIL = 'arorapulkit2@gmail.com')";
     private static final DatabaseClient databaseClient;
+    private static final JedisPool jedisPool;
     private static final Jedis jedis;
 
     static {
@@ -36,9 +46,8 @@ public class BidControllerTest {
 
         databaseClient =  spanner.getDatabaseClient(DatabaseId.of("biddingsystem-411900", "biddingsystemdb", "bidding_system"));
 
-        try (JedisPool jedisPool = new JedisPool("127.0.0.1", 6379)) {
-            jedis = jedisPool.getResource();
-        }
+        jedisPool = new JedisPool("127.0.0.1", 6379);
+        jedis = jedisPool.getResource();
     }
 
     private BidController bidController;
@@ -51,8 +60,15 @@ public class BidControllerTest {
         MockitoAnnotations.openMocks(this);
         bidController = new BidController();
         BidServiceImpl bidService = new BidServiceImpl();
-        bidService.setJedisRead(jedis);
-        bidService.setJedisWrite(jedis);
+        bidService.setRedisReadRouter(new RedisReadRouter(jedisPool, Collections.singletonList(new HostAndPort("127.0.0.1", 6379)),
+                new JedisPoolConfig(), new SimpleMeterRegistry(), 1024 * 1024, Executors.newCachedThreadPool()));
+        AuctionStateWriter auctionStateWriter = new AuctionStateWriter();
+        auctionStateWriter.setJedisWrite(jedisPool);
+        bidService.setAuctionStateWriter(auctionStateWriter);
+        bidService.setPrimaryReadWindowSeconds(60);
+        HotAuctionDetector hotAuctionDetector = new HotAuctionDetector();
+        hotAuctionDetector.setThresholds(10000, 100, 5, 32);
+        bidService.setHotAuctionDetector(hotAuctionDetector);
 
         SpannerBidDAOImpl spannerBidDAO = new SpannerBidDAOImpl();
         spannerBidDAO.setDatabaseClient(databaseClient);
@@ -60,6 +76,8 @@ public class BidControllerTest {
 
         bidController.setBidService(bidService);
         bidController.setAuthenticationService(authenticationService);
+        bidController.setDefaultRequestTimeoutMs(10000);
+        bidController.setBidRequestLogger(new BidRequestLogger());
 
         Mockito.when(authenticationService.getUserNameFromValidToken("token")).thenReturn("arorapulkit2_gmail-com");
     }
@@ -93,7 +111,7 @@ public class BidControllerTest {
     @Test
     public void testFailurePlaceBidTokenNotValid() {
         Mockito.when(authenticationService.getUserNameFromValidToken("token")).thenReturn(null);
-        ResponseEntity<String> response = bidController.placeBid("1234", 1200.00, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1200.00, "token", null);
         Assert.assertEquals(401, response.getStatusCode().value());
     }
 
@@ -102,14 +120,15 @@ public class BidControllerTest {
         BidServiceImpl bidService = Mockito.mock(BidServiceImpl.class);
         bidController.setBidService(bidService);
 
-        Mockito.when(bidService.placeBid("1234", 1200.00, "arorapulkit2@gmail.com")).thenReturn(null);
-        ResponseEntity<String> response = bidController.placeBid("1234", 1200.00, "token");
+        Mockito.when(bidService.placeBid(Mockito.eq("1234"), Mockito.eq(1200.00), Mockito.eq("arorapulkit2@gmail.com"),
+                Mockito.any(RequestDeadline.class))).thenReturn(null);
+        ResponseEntity<String> response = bidController.placeBid("1234", 1200.00, "token", null);
         Assert.assertEquals(500, response.getStatusCode().value());
     }
 
     @Test
     public void testPlaceBidAuctionCompleted() {
-        ResponseEntity<String> response = bidController.placeBid("1234", 1200, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1200, "token", null);
         Assert.assertEquals(400, response.getStatusCode().value());
         Assert.assertEquals("Auction Completed, Bid can't be placed.", response.getBody());
     }
@@ -125,7 +144,7 @@ public class BidControllerTest {
                 .build();
         databaseClient.write(Collections.singleton(mutation));
 
-        ResponseEntity<String> response = bidController.placeBid("1234", 1200, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1200, "token", null);
         Assert.assertEquals(400, response.getStatusCode().value());
         Assert.assertEquals("Bid Price should be greater then Base Price.", response.getBody());
 
@@ -148,7 +167,7 @@ public class BidControllerTest {
                 .build();
         databaseClient.write(Collections.singleton(mutation));
 
-        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token", null);
         Assert.assertEquals(400, response.getStatusCode().value());
         Assert.assertEquals("Already a higher bid is placed for this auction, Re-Shop and place bid again.", response.getBody());
 
@@ -159,6 +178,30 @@ public class BidControllerTest {
                 });
     }
 
+    @Test
+    public void testPlaceBidBelowMinIncrement() {
+        Mutation mutation = Mutation.newInsertBuilder("AUCTION")
+                .set("AUCTION_ID").to("1234")
+                .set("CATEGORY").to("Car")
+                .set("BASE_PRICE").to(1400.00)
+                .set("MAX_BID_PRICE").to(1600.00)
+                .set("MIN_INCREMENT").to(50.00)
+                .set("AUCTION_CREATION_TIME").to(Timestamp.now())
+                .set("AUCTION_EXPIRY_TIME").to(Timestamp.ofTimeSecondsAndNanos(LocalDateTime.now().plusDays(4).toEpochSecond(ZoneOffset.UTC), 0))
+                .build();
+        databaseClient.write(Collections.singleton(mutation));
+
+        ResponseEntity<String> response = bidController.placeBid("1234", 1620, "token", null);
+        Assert.assertEquals(400, response.getStatusCode().value());
+        Assert.assertEquals("Bid Price should be at least 1650.00, current max bid plus the minimum increment. Re-shop auction and place bid again", response.getBody());
+
+        databaseClient.readWriteTransaction()
+                .run(transaction -> {
+                    transaction.executeUpdate(Statement.of(DELETE_AUCTION_SQL));
+                    return null;
+                });
+    }
+
     @Test
     public void testPlaceBidFirstTimeSuccess() {
         Mutation mutation = Mutation.newInsertBuilder("AUCTION")
@@ -175,7 +218,7 @@ public class BidControllerTest {
             Assert.assertEquals(0, resultSet.getLong("CNT"));
         }
 
-        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token", null);
         Assert.assertEquals(200, response.getStatusCode().value());
         Assert.assertEquals("Success, Bid Placed.", response.getBody());
 
@@ -210,7 +253,7 @@ public class BidControllerTest {
             Assert.assertEquals(0, resultSet.getLong("CNT"));
         }
 
-        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token", null);
         Assert.assertEquals(200, response.getStatusCode().value());
         Assert.assertEquals("Success, Bid Placed.", response.getBody());
 
@@ -219,7 +262,7 @@ public class BidControllerTest {
             Assert.assertEquals(1, resultSet1.getLong("CNT"));
         }
 
-        ResponseEntity<String> response1 = bidController.placeBid("1234", 1450, "token");
+        ResponseEntity<String> response1 = bidController.placeBid("1234", 1450, "token", null);
         Assert.assertEquals(400, response1.getStatusCode().value());
         Assert.assertEquals("User bid price is lesser then current max bid, Re-shop auction and place bid again", response1.getBody());
 
@@ -249,7 +292,7 @@ public class BidControllerTest {
             Assert.assertEquals(0, resultSet.getLong("CNT"));
         }
 
-        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token");
+        ResponseEntity<String> response = bidController.placeBid("1234", 1500, "token", null);
         Assert.assertEquals(200, response.getStatusCode().value());
         Assert.assertEquals("Success, Bid Placed.", response.getBody());
 
@@ -258,7 +301,7 @@ public class BidControllerTest {
             Assert.assertEquals(1, resultSet1.getLong("CNT"));
         }
 
-        ResponseEntity<String> response1 = bidController.placeBid("1234", 1550, "token");
+        ResponseEntity<String> response1 = bidController.placeBid("1234", 1550, "token", null);
         Assert.assertEquals(200, response1.getStatusCode().value());
         Assert.assertEquals("Success, Bid Placed.", response1.getBody());
 
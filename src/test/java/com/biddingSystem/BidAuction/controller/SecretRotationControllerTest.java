@@ -0,0 +1,83 @@
+package com.biddingSystem.BidAuction.controller;
+
+import com.biddingSystem.BidAuction.authentication.AuthenticationService;
+import com.biddingSystem.BidAuction.dto.PubSubPushRequest;
+import com.google.auth.oauth2.TokenVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Map;
+
+public class SecretRotationControllerTest {
+    private static final String AUDIENCE = "https://bid-auction.example.com/secretRotations";
+    private static final String PUSH_ACCOUNT = "secret-rotation-push@biddingsystem-411900.iam.gserviceaccount.com";
+    private static final String SECRET_ID = "projects/biddingsystem-411900/secrets/arorapulkit2_gmail-com";
+
+    private KeyPair signingKey;
+    private AuthenticationService authenticationService;
+    private SecretRotationController secretRotationController;
+
+    @BeforeEach
+    public void setUp() throws NoSuchAlgorithmException {
+        signingKey = rsaKeyPair();
+        authenticationService = Mockito.mock(AuthenticationService.class);
+        secretRotationController = new SecretRotationController();
+        secretRotationController.setAuthenticationService(authenticationService);
+        secretRotationController.setPushAuthentication(
+                TokenVerifier.newBuilder().setAudience(AUDIENCE).setPublicKey(signingKey.getPublic()).build(), PUSH_ACCOUNT);
+    }
+
+    @Test
+    public void testAuthenticatedPushRevokes() {
+        int status = push("Bearer " + token(signingKey, AUDIENCE, PUSH_ACCOUNT));
+
+        Assertions.assertEquals(204, status);
+        Mockito.verify(authenticationService).revokeOnSecretChange("SECRET_VERSION_ADD", SECRET_ID);
+    }
+
+    @Test
+    public void testUnauthenticatedPushIsRejected() throws NoSuchAlgorithmException {
+        Assertions.assertEquals(403, push(null));
+        Assertions.assertEquals(403, push(token(signingKey, AUDIENCE, PUSH_ACCOUNT)));
+        Assertions.assertEquals(403, push("Bearer " + token(signingKey, "https://other.example.com", PUSH_ACCOUNT)));
+        Assertions.assertEquals(403, push("Bearer " + token(signingKey, AUDIENCE, "someone@example.com")));
+        Assertions.assertEquals(403, push("Bearer " + token(rsaKeyPair(), AUDIENCE, PUSH_ACCOUNT)));
+        Mockito.verifyNoInteractions(authenticationService);
+    }
+
+    private int push(String authorization) {
+        PubSubPushRequest.Message message = new PubSubPushRequest.Message();
+        message.setMessageId("1");
+        message.setAttributes(Map.of("eventType", "SECRET_VERSION_ADD", "secretId", SECRET_ID));
+        PubSubPushRequest pushRequest = new PubSubPushRequest();
+        pushRequest.setMessage(message);
+        return secretRotationController.secretChanged(authorization, pushRequest).getStatusCode().value();
+    }
+
+    private static String token(KeyPair keyPair, String audience, String email) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setIssuer("https://accounts.google.com")
+                .setAudience(audience)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60000))
+                .claim("email", email)
+                .claim("email_verified", true)
+                .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate())
+                .compact();
+    }
+
+    private static KeyPair rsaKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
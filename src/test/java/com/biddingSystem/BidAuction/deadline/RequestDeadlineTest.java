@@ -0,0 +1,31 @@
+package com.biddingSystem.BidAuction.deadline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RequestDeadlineTest {
+
+    @Test
+    public void testRemainingBudget() {
+        RequestDeadline deadline = RequestDeadline.after(5000);
+        Assertions.assertFalse(deadline.isExpired());
+        Assertions.assertTrue(deadline.remainingMillis() > 4000 && deadline.remainingMillis() <= 5000);
+        deadline.checkNotExpired("cache read");
+    }
+
+    @Test
+    public void testExpiredDeadline() throws InterruptedException {
+        RequestDeadline deadline = RequestDeadline.after(1);
+        Thread.sleep(5);
+        Assertions.assertTrue(deadline.isExpired());
+        Assertions.assertEquals(0, deadline.remainingMillis());
+        DeadlineExceededException ex = Assertions.assertThrows(DeadlineExceededException.class,
+                () -> deadline.checkNotExpired("cache read"));
+        Assertions.assertEquals("Request deadline exceeded before cache read", ex.getMessage());
+    }
+
+    @Test
+    public void testZeroTimeoutIsExpired() {
+        Assertions.assertTrue(RequestDeadline.after(0).isExpired());
+    }
+}
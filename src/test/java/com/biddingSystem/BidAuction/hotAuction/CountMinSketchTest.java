@@ -0,0 +1,26 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void testEqualHashCodesDoNotShareCounters() {
+        // "Aa" and "BB" have the same String.hashCode()
+        CountMinSketch sketch = new CountMinSketch(1024);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("Aa", 1);
+        }
+        Assertions.assertEquals(100, sketch.estimate("Aa"));
+        Assertions.assertEquals(0, sketch.estimate("BB"));
+    }
+
+    @Test
+    public void testClearResetsCounts() {
+        CountMinSketch sketch = new CountMinSketch(1024);
+        sketch.add("1234", 5);
+        sketch.clear();
+        Assertions.assertEquals(0, sketch.estimate("1234"));
+    }
+}
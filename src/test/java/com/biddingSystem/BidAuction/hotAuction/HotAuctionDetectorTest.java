@@ -0,0 +1,67 @@
+package com.biddingSystem.BidAuction.hotAuction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HotAuctionDetectorTest {
+    private HotAuctionDetector hotAuctionDetector;
+
+    @BeforeEach
+    public void setUp() {
+        hotAuctionDetector = new HotAuctionDetector();
+        hotAuctionDetector.setThresholds(60000, 10, 3, 2);
+    }
+
+    @Test
+    public void testBidRateMarksAuctionHot() {
+        for (int i = 0; i < 9; i++) {
+            hotAuctionDetector.recordBid("1234");
+        }
+        Assertions.assertFalse(hotAuctionDetector.isHot("1234"));
+
+        hotAuctionDetector.recordBid("1234");
+        Assertions.assertTrue(hotAuctionDetector.isHot("1234"));
+        Assertions.assertEquals("1234", hotAuctionDetector.getHotAuctions().get(0).getAuctionId());
+    }
+
+    @Test
+    public void testAbortRateMarksAuctionHot() {
+        hotAuctionDetector.recordBid("1234");
+        hotAuctionDetector.recordAborts("1234", 3);
+        Assertions.assertTrue(hotAuctionDetector.isHot("1234"));
+    }
+
+    @Test
+    public void testHotSetIsBoundedByTopK() {
+        List<String> cooled = new ArrayList<>();
+        hotAuctionDetector.addCooledListener(cooled::add);
+        for (int i = 0; i < 10; i++) {
+            hotAuctionDetector.recordBid("a");
+            hotAuctionDetector.recordBid("b");
+        }
+        for (int i = 0; i < 20; i++) {
+            hotAuctionDetector.recordBid("c");
+        }
+        Assertions.assertEquals(2, hotAuctionDetector.getHotAuctions().size());
+        Assertions.assertTrue(hotAuctionDetector.isHot("c"));
+        Assertions.assertEquals(1, cooled.size());
+        Assertions.assertFalse(hotAuctionDetector.isHot(cooled.get(0)));
+    }
+
+    @Test
+    public void testAuctionCoolsDownAfterWindows() {
+        List<String> cooled = new ArrayList<>();
+        hotAuctionDetector.addCooledListener(cooled::add);
+        for (int i = 0; i < 10; i++) {
+            hotAuctionDetector.recordBid("1234");
+        }
+        hotAuctionDetector.rotateWindow();
+        hotAuctionDetector.rotateWindow();
+        Assertions.assertFalse(hotAuctionDetector.isHot("1234"));
+        Assertions.assertEquals(List.of("1234"), cooled);
+    }
+}
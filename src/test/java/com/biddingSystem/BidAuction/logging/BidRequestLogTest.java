@@ -0,0 +1,35 @@
+package com.biddingSystem.BidAuction.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BidRequestLogTest {
+
+    @Test
+    public void testSingleLineEvent() {
+        BidRequestLog requestLog = BidRequestLog.start("1234");
+        BidRequestLog.recordStrategy("hot");
+        BidRequestLog.recordAbortedAttempts(2);
+        BidRequestLog.recordStage(BidRequestLog.Stage.SPANNER, System.nanoTime() - 5_000_000);
+
+        String line = requestLog.format(200, "Success, Bid Placed.");
+        requestLog.end();
+
+        Assertions.assertTrue(line.startsWith("bid auctionId=1234 status=200 strategy=hot aborts=2 "));
+        Assertions.assertTrue(line.contains(" spannerUs="));
+        Assertions.assertFalse(line.contains(" authUs="));
+        Assertions.assertTrue(line.endsWith(" outcome=\"Success, Bid Placed.\""));
+    }
+
+    @Test
+    public void testRecordersWithoutActiveRequest() {
+        BidRequestLog.recordStage(BidRequestLog.Stage.AUTH, System.nanoTime());
+        BidRequestLog.recordStrategy("hot");
+        BidRequestLog.recordAbortedAttempts(1);
+
+        BidRequestLog requestLog = BidRequestLog.start("1234");
+        String line = requestLog.format(400, "rejected");
+        requestLog.end();
+        Assertions.assertTrue(line.contains("strategy=cold aborts=0"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.biddingSystem.BidAuction.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+public class BidRequestLoggerTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger("bidRequest");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private BidRequestLogger bidRequestLogger;
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        bidRequestLogger = new BidRequestLogger();
+        bidRequestLogger.setSuccessSampleRate(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void testUnsampledStatuses() {
+        bidRequestLogger.finish(BidRequestLog.start("1234"), 200, "Success, Bid Placed.");
+        bidRequestLogger.finish(BidRequestLog.start("1234"), 400, "Bid too low");
+        Assertions.assertTrue(appender.list.isEmpty());
+
+        bidRequestLogger.finish(BidRequestLog.start("1234"), 401, "Token Not Valid");
+        bidRequestLogger.finish(BidRequestLog.start("1234"), 500, "boom");
+        Assertions.assertEquals(2, appender.list.size());
+        Assertions.assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        Assertions.assertEquals(Level.ERROR, appender.list.get(1).getLevel());
+    }
+}
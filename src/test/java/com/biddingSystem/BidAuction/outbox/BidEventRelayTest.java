@@ -0,0 +1,90 @@
+package com.biddingSystem.BidAuction.outbox;
+
+import com.biddingSystem.BidAuction.dao.impl.SpannerBidEventDAOImpl;
+import com.biddingSystem.BidAuction.dto.BidEvent;
+import com.biddingSystem.BidAuction.dto.OutboxCheckpoint;
+import com.google.cloud.Timestamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class BidEventRelayTest {
+    private static final String SINK = "redis:bid-events";
+
+    private SpannerBidEventDAOImpl spannerBidEventDAO;
+    private BidEventSink bidEventSink;
+    private BidEventRelay bidEventRelay;
+
+    @BeforeEach
+    public void setUp() {
+        spannerBidEventDAO = Mockito.mock(SpannerBidEventDAOImpl.class);
+        bidEventSink = Mockito.mock(BidEventSink.class);
+        Mockito.when(bidEventSink.name()).thenReturn(SINK);
+        Mockito.when(spannerBidEventDAO.claimShard(Mockito.eq(SINK), Mockito.eq(0), Mockito.anyString(), Mockito.anyLong()))
+                .thenReturn(new OutboxCheckpoint(Timestamp.MIN_VALUE, ""));
+        Mockito.when(spannerBidEventDAO.advanceCheckpoint(Mockito.eq(SINK), Mockito.eq(0), Mockito.anyString(),
+                Mockito.any(OutboxCheckpoint.class), Mockito.anyLong())).thenReturn(true);
+
+        bidEventRelay = new BidEventRelay();
+        bidEventRelay.setRelaySettings(2, 10000, 10);
+        bidEventRelay.setMeterRegistry(new SimpleMeterRegistry());
+        bidEventRelay.setSpannerBidEventDAO(spannerBidEventDAO);
+        bidEventRelay.setBidEventSink(bidEventSink);
+    }
+
+    @Test
+    public void testPagesArePublishedAndCheckpointed() {
+        Mockito.when(spannerBidEventDAO.readBidEvents(Mockito.eq(0), Mockito.any(OutboxCheckpoint.class), Mockito.eq(2)))
+                .thenReturn(List.of(event("e1", 1), event("e2", 2)))
+                .thenReturn(List.of(event("e3", 3)));
+
+        bidEventRelay.relay();
+
+        Mockito.verify(bidEventSink, Mockito.times(2)).publish(Mockito.anyList());
+        ArgumentCaptor<OutboxCheckpoint> checkpoints = ArgumentCaptor.forClass(OutboxCheckpoint.class);
+        Mockito.verify(spannerBidEventDAO, Mockito.times(2)).advanceCheckpoint(Mockito.eq(SINK), Mockito.eq(0), Mockito.anyString(),
+                checkpoints.capture(), Mockito.anyLong());
+        Assertions.assertEquals("e2", checkpoints.getAllValues().get(0).getEventId());
+        Assertions.assertEquals("e3", checkpoints.getAllValues().get(1).getEventId());
+        Assertions.assertEquals(0, bidEventRelay.lagMillis());
+        // Shards leased by other instances are skipped
+        Mockito.verify(spannerBidEventDAO, Mockito.never()).readBidEvents(Mockito.eq(1), Mockito.any(OutboxCheckpoint.class), Mockito.anyInt());
+    }
+
+    @Test
+    public void testFailedPublishKeepsCheckpoint() {
+        Mockito.when(spannerBidEventDAO.readBidEvents(Mockito.eq(0), Mockito.any(OutboxCheckpoint.class), Mockito.eq(2)))
+                .thenReturn(List.of(event("e1", 1)));
+        Mockito.doThrow(new IllegalStateException("stream unavailable")).doNothing().when(bidEventSink).publish(Mockito.anyList());
+
+        long before = System.currentTimeMillis();
+        bidEventRelay.relay();
+        // Lag is measured from the unpublished event committed at 1s, not from the last successful publish
+        Assertions.assertTrue(bidEventRelay.lagMillis() >= before - 1000);
+        Mockito.verify(spannerBidEventDAO, Mockito.never()).advanceCheckpoint(Mockito.anyString(), Mockito.anyInt(), Mockito.anyString(),
+                Mockito.any(OutboxCheckpoint.class), Mockito.anyLong());
+
+        bidEventRelay.relay();
+        ArgumentCaptor<OutboxCheckpoint> readFrom = ArgumentCaptor.forClass(OutboxCheckpoint.class);
+        Mockito.verify(spannerBidEventDAO, Mockito.times(2)).readBidEvents(Mockito.eq(0), readFrom.capture(), Mockito.eq(2));
+        Assertions.assertEquals("", readFrom.getAllValues().get(1).getEventId());
+        Mockito.verify(spannerBidEventDAO).advanceCheckpoint(Mockito.eq(SINK), Mockito.eq(0), Mockito.anyString(),
+                Mockito.any(OutboxCheckpoint.class), Mockito.anyLong());
+        Assertions.assertEquals(0, bidEventRelay.lagMillis());
+    }
+
+    private static BidEvent event(String eventId, long commitSeconds) {
+        BidEvent event = new BidEvent();
+        event.setEventId(eventId);
+        event.setAuctionId("1234");
+        event.setUserEmail("arorapulkit2@gmail.com");
+        event.setBidPrice(1500);
+        event.setCommitTime(Timestamp.ofTimeSecondsAndNanos(commitSeconds, 0));
+        return event;
+    }
+}